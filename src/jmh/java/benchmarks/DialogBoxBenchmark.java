@@ -0,0 +1,95 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import controllers.DialogBox;
+import controllers.DialogBoxFactory;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures the dialog boxes created per second by parsing <code>DialogBox.fxml</code> for each message, as the
+ * chat used to, against building them with a <code>DialogBoxFactory</code>. The FXML is kept under
+ * <code>src/jmh/resources</code> for this comparison only. The JavaFX toolkit is started, so a display is needed.
+ * Run with <code>gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DialogBoxBenchmark {
+    private static final URL DIALOG_BOX_FXML = DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml");
+    // added in code, as a path relative to the FXML would look for the stylesheet under src/jmh/resources
+    private static final String STYLESHEET = DialogBoxBenchmark.class.getResource("/css/dialog-box.css")
+            .toExternalForm();
+
+    private String text = "Got it. I've added this task:\n [T][ ] read CS2103T textbook\n"
+            + "Now you have 5 tasks in the list.";
+    private DialogBoxFactory dialogs;
+
+    /**
+     * Starts the JavaFX toolkit, which controls need even when they are not shown.
+     */
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // the toolkit was started by an earlier benchmark in the same fork
+        }
+        Image image = new WritableImage(99, 99);
+        dialogs = new DialogBoxFactory(image, image);
+    }
+
+    private HBox loadFxml() throws IOException {
+        FXMLLoader fxmlLoader = new FXMLLoader(DIALOG_BOX_FXML);
+        HBox root = new HBox();
+        fxmlLoader.setRoot(root);
+        fxmlLoader.load();
+        root.getStylesheets().add(STYLESHEET);
+        return root;
+    }
+
+    @Benchmark
+    public HBox fxmlUserDialog() throws IOException {
+        return loadFxml();
+    }
+
+    @Benchmark
+    public HBox fxmlChatBotDialog() throws IOException {
+        HBox root = loadFxml();
+        ObservableList<Node> tmp = FXCollections.observableArrayList(root.getChildren());
+        Collections.reverse(tmp);
+        root.getChildren().setAll(tmp);
+        tmp.get(1).getStyleClass().add("reply-label");
+        root.setAlignment(Pos.TOP_LEFT);
+        return root;
+    }
+
+    @Benchmark
+    public DialogBox factoryUserDialog() {
+        return dialogs.createUserDialog(text);
+    }
+
+    @Benchmark
+    public DialogBox factoryChatBotDialog() {
+        return dialogs.createChatBotDialog(text);
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import processes.ParallelLoader;
+import processes.Storage;
+
+/**
+ * Compares parsing a large text snapshot on one core against parsing it in the common fork-join pool.
+ * Run with <code>gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoadBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private byte[] snapshot;
+    private ForkJoinPool singleThread;
+
+    /**
+     * Generates a snapshot with an even mix of ToDo, DeadLine and Event tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < taskCount; i++) {
+            switch (i % 3) {
+            case 0:
+                lines.append("T|0|read chapter ").append(i).append("|reading|\n");
+                break;
+            case 1:
+                lines.append("D|1|submit assignment ").append(i).append("|2024-05-05\n");
+                break;
+            default:
+                lines.append("E|0|attend workshop ").append(i).append("|2024-01-01|2024-02-01|work|\n");
+                break;
+            }
+        }
+        snapshot = lines.toString().getBytes(StandardCharsets.UTF_8);
+        singleThread = new ForkJoinPool(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        singleThread.shutdown();
+    }
+
+    @Benchmark
+    public ParallelLoader.Result loadSequential() {
+        return ParallelLoader.load(snapshot, snapshot.length, Storage::parseTask, singleThread);
+    }
+
+    @Benchmark
+    public ParallelLoader.Result loadParallel() {
+        return ParallelLoader.load(snapshot, snapshot.length, Storage::parseTask);
+    }
+}
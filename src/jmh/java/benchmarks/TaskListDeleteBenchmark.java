@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import processes.TaskList;
+
+/**
+ * Measures deleting a task through TaskList while its indexes are populated.
+ * Every task shares the word "task", so each delete also removes an id from posting lists as long as the list.
+ * Each delete is paired with adding a task, so the list keeps its size across invocations.
+ * Run with <code>gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListDeleteBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private TaskList taskList;
+    private int added;
+
+    /**
+     * Fills the list with tasks that are all indexed under the same word and tag.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        taskList = new TaskList();
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addToDo("task " + i + " #tag");
+        }
+    }
+
+    @Benchmark
+    public int deleteFromMiddle() throws Exception {
+        taskList.deleteTask(String.valueOf(taskCount / 2));
+        taskList.addToDo("task again " + added++ + " #tag");
+        return taskList.getSize();
+    }
+
+    @Benchmark
+    public int deleteRange() throws Exception {
+        taskList.deleteTask((taskCount / 2) + "-" + (taskCount / 2 + 99));
+        for (int i = 0; i < 100; i++) {
+            taskList.addToDo("task again " + added++ + " #tag");
+        }
+        return taskList.getSize();
+    }
+}
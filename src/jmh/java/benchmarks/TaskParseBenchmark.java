@@ -0,0 +1,44 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import tasks.DeadLine;
+import tasks.Event;
+import tasks.Task;
+import tasks.ToDo;
+
+/**
+ * Measures parsing the arguments of the todo, deadline and event commands into tasks.
+ * The gc profiler enabled in build.gradle reports the bytes allocated per parsed command as
+ * <code>gc.alloc.rate.norm</code>. Run with <code>gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskParseBenchmark {
+    private String toDoInput = "read CS2103T textbook #cs2103 #reading";
+    private String deadLineInput = "submit CS2103T ip #cs2103 /by 2024-09-20";
+    private String eventInput = "book club #leisure /from 2024-09-01 /to 2024-09-02";
+
+    @Benchmark
+    public Task parseToDo() throws Exception {
+        return new ToDo(toDoInput);
+    }
+
+    @Benchmark
+    public Task parseDeadLine() throws Exception {
+        return new DeadLine(deadLineInput);
+    }
+
+    @Benchmark
+    public Task parseEvent() throws Exception {
+        return new Event(eventInput);
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import processes.ChunkedList;
+
+/**
+ * Compares the positional operations TaskList relies on between an ArrayList and a ChunkedList.
+ * Each delete is paired with an insert at the same position, so the list keeps its size across invocations.
+ * Run with <code>gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskStoreBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private ArrayList<Integer> arrayList;
+    private ChunkedList<Integer> chunkedList;
+    private Random random;
+
+    /**
+     * Fills both lists with the same elements.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        arrayList = new ArrayList<>();
+        chunkedList = new ChunkedList<>();
+        for (int i = 0; i < taskCount; i++) {
+            arrayList.add(i);
+            chunkedList.add(i);
+        }
+        random = new Random(2103);
+    }
+
+    private static int deleteAndReinsert(List<Integer> list, int index) {
+        Integer removed = list.remove(index);
+        list.add(index, removed);
+        return removed;
+    }
+
+    @Benchmark
+    public int arrayListDeleteFromFront() {
+        return deleteAndReinsert(arrayList, 0);
+    }
+
+    @Benchmark
+    public int chunkedListDeleteFromFront() {
+        return deleteAndReinsert(chunkedList, 0);
+    }
+
+    @Benchmark
+    public int arrayListDeleteAnywhere() {
+        return deleteAndReinsert(arrayList, random.nextInt(taskCount));
+    }
+
+    @Benchmark
+    public int chunkedListDeleteAnywhere() {
+        return deleteAndReinsert(chunkedList, random.nextInt(taskCount));
+    }
+
+    @Benchmark
+    public int arrayListGet() {
+        return arrayList.get(random.nextInt(taskCount));
+    }
+
+    @Benchmark
+    public int chunkedListGet() {
+        return chunkedList.get(random.nextInt(taskCount));
+    }
+}
@@ -0,0 +1,124 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import processes.Durability;
+import processes.MrTracker;
+
+/**
+ * BatchRunner class that runs commands from a file or standard input without starting the GUI.
+ * Each line is one command, and the responses are written to standard output in order.
+ * Changes are saved every few commands instead of after each one, so large imports are written in a few
+ * large writes.
+ *
+ * <p>Usage: <code>BatchRunner [--commit-every N] [--durability sync|periodic|buffered] [FILE]</code>.
+ * Commands are read from standard input if no file is given. Running stops at the end of the input, or at the
+ * first <code>bye</code> or <code>exit</code>.
+ */
+public class BatchRunner {
+    public static final int DEFAULT_COMMIT_INTERVAL = 1000;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final MrTracker tracker;
+    private final int commitInterval;
+
+    /**
+     * Constructor for a BatchRunner that runs commands on the given tracker.
+     *
+     * @param tracker The tracker to run the commands on.
+     * @param commitInterval The number of commands to run between saves.
+     */
+    public BatchRunner(MrTracker tracker, int commitInterval) {
+        assert commitInterval > 0 : "Commit interval must be positive";
+        this.tracker = tracker;
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Runs every command from the reader and writes each response to the writer, followed by a blank line.
+     * Blocks until every change has been saved.
+     *
+     * @param in The reader to read commands from, one per line.
+     * @param out The writer to write the responses to.
+     * @return The number of commands that were run.
+     * @throws IOException If the commands could not be read, or the responses could not be written.
+     */
+    public int run(BufferedReader in, Writer out) throws IOException {
+        int count = 0;
+        // responses are streamed to the output, so a long list is never held in memory as a whole
+        ResponseWriter response = new ResponseWriter(out);
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                response.reset();
+                tracker.execute(line, response);
+                out.write(response.endsWithNewline() ? "\n" : "\n\n");
+                count++;
+                if (tracker.isExit(line)) {
+                    break;
+                }
+                if (count % commitInterval == 0) {
+                    tracker.commit();
+                }
+            }
+        } finally {
+            tracker.commit();
+            tracker.flush();
+            out.flush();
+        }
+        return count;
+    }
+
+    /**
+     * Runs the commands in the file given in the arguments, or from standard input.
+     *
+     * @param args The optional commit interval, durability and file to read commands from.
+     * @throws IOException If the commands could not be read, or the responses could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int commitInterval = DEFAULT_COMMIT_INTERVAL;
+        Durability durability = MrTracker.DEFAULT_DURABILITY;
+        String file = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--commit-every") && i + 1 < args.length) {
+                commitInterval = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--durability") && i + 1 < args.length
+                    && Durability.fromName(args[i + 1]) != null) {
+                durability = Durability.fromName(args[++i]);
+            } else if (file == null && !args[i].startsWith("--")) {
+                file = args[i];
+            } else {
+                System.err.println(
+                        "Usage: BatchRunner [--commit-every N] [--durability sync|periodic|buffered] [FILE]");
+                System.exit(1);
+            }
+        }
+        if (commitInterval < 1) {
+            System.err.println("Error: the commit interval must be at least 1");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        InputStream input = file == null ? System.in : new FileInputStream(file);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            MrTracker tracker = new MrTracker(MrTracker.DIRPATH, durability);
+            tracker.load();
+            int count = new BatchRunner(tracker, commitInterval).run(in, out);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.err.println("Ran " + count + " command(s) in " + millis + " ms");
+        }
+    }
+}
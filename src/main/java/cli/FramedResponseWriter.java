@@ -0,0 +1,65 @@
+package cli;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * FramedResponseWriter class that passes responses through to a connection while they are streamed, and ends
+ * each one with a line holding only a full stop, so that a client can tell where a response ends even if it
+ * contains blank lines. Lines of a response that start with a full stop get another one in front, which the
+ * client removes, as in SMTP.
+ */
+class FramedResponseWriter extends FilterWriter {
+    private boolean isLineStart = true;
+
+    /**
+     * Constructor for a FramedResponseWriter that writes to the given output.
+     *
+     * @param out The output to write the responses to.
+     */
+    FramedResponseWriter(Writer out) {
+        super(out);
+    }
+
+    /**
+     * Ends the response written so far, starting a new line first if it did not end with one.
+     *
+     * @throws IOException If the end of the response could not be written.
+     */
+    void endResponse() throws IOException {
+        out.write(isLineStart ? ".\n" : "\n.\n");
+        isLineStart = true;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (isLineStart && c == '.') {
+            out.write('.');
+        }
+        out.write(c);
+        isLineStart = c == '\n';
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        write(new String(buffer, offset, length), 0, length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        int end = offset + length;
+        int start = offset;
+        // write the text a line at a time, so that only the start of each line needs looking at
+        while (start < end) {
+            if (isLineStart && text.charAt(start) == '.') {
+                out.write('.');
+            }
+            int lineEnd = text.indexOf('\n', start);
+            int next = lineEnd == -1 || lineEnd >= end ? end : lineEnd + 1;
+            out.write(text, start, next - start);
+            isLineStart = text.charAt(next - 1) == '\n';
+            start = next;
+        }
+    }
+}
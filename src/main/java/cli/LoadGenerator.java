@@ -0,0 +1,158 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * LoadGenerator class that measures a running {@link TrackerServer} by sending it the same command from several
+ * connections at once, and reports the throughput and the latency of the responses.
+ * Each client keeps up to the pipeline depth of commands waiting for their responses.
+ *
+ * <p>Usage: <code>LoadGenerator [--port N] [--clients N] [--requests N] [--pipeline N] [COMMAND]</code>, where
+ * the number of requests is per client. The default command is <code>list 1 20</code>, which does not change
+ * the saved tasks.
+ */
+public class LoadGenerator {
+    private static final String DEFAULT_COMMAND = "list 1 20";
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Sends the commands from every client, then reports how long they took.
+     *
+     * @param args The options and the command to send.
+     * @throws Exception If a client could not connect, or the server closed a connection early.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = TrackerServer.DEFAULT_PORT;
+        int clients = 4;
+        int requests = 10_000;
+        int depth = 1;
+        String command = DEFAULT_COMMAND;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                int value = Integer.parseInt(args[i + 1]);
+                switch (args[i++]) {
+                case "--port":
+                    port = value;
+                    break;
+                case "--clients":
+                    clients = value;
+                    break;
+                case "--requests":
+                    requests = value;
+                    break;
+                case "--pipeline":
+                    depth = value;
+                    break;
+                default:
+                    printUsageAndExit();
+                }
+            } else if (!args[i].startsWith("--")) {
+                command = args[i];
+            } else {
+                printUsageAndExit();
+            }
+        }
+        if (clients < 1 || requests < 1 || depth < 1) {
+            System.err.println("Error: the clients, requests and pipeline depth must be at least 1");
+            System.exit(1);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        ArrayList<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            int serverPort = port;
+            int count = requests;
+            int pipelineDepth = depth;
+            String line = command;
+            results.add(pool.submit(() -> runClient(serverPort, line, count, pipelineDepth)));
+        }
+        long[] latencies = new long[clients * requests];
+        try {
+            for (int i = 0; i < clients; i++) {
+                System.arraycopy(results.get(i).get(), 0, latencies, i * requests, requests);
+            }
+        } catch (ExecutionException e) {
+            System.err.println("Error: " + e.getCause().getMessage());
+            System.exit(1);
+        } finally {
+            pool.shutdown();
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        Arrays.sort(latencies);
+        System.out.println("Sent " + latencies.length + " request(s) over " + clients + " connection(s) in "
+                + millis + " ms, " + latencies.length * 1000L / millis + " requests/s");
+        System.out.println("Latency: p50 " + percentile(latencies, 0.5) + " us, p99 " + percentile(latencies, 0.99)
+                + " us, max " + latencies[latencies.length - 1] / 1000 + " us");
+    }
+
+    private static void printUsageAndExit() {
+        System.err.println("Usage: LoadGenerator [--port N] [--clients N] [--requests N] [--pipeline N] [COMMAND]");
+        System.exit(1);
+    }
+
+    /**
+     * Returns the latency below which the given fraction of the sorted latencies fall, in microseconds.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, (long) (sorted.length * fraction));
+        return sorted[index] / 1000;
+    }
+
+    /**
+     * Sends the command over one connection the given number of times, keeping up to the pipeline depth of them
+     * waiting, and returns how long each took to be answered, in nanoseconds.
+     */
+    private static long[] runClient(int port, String command, int requests, int depth) throws IOException {
+        long[] sentAt = new long[requests];
+        long[] latencies = new long[requests];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            socket.setTcpNoDelay(true);
+            int sent = 0;
+            for (int received = 0; received < requests; received++) {
+                while (sent < requests && sent - received < depth) {
+                    sentAt[sent++] = System.nanoTime();
+                    out.write(command);
+                    out.write('\n');
+                }
+                out.flush();
+                skipResponse(in);
+                latencies[received] = System.nanoTime() - sentAt[received];
+            }
+        }
+        return latencies;
+    }
+
+    private static void skipResponse(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals(".")) {
+                return;
+            }
+        }
+        throw new EOFException("the server closed the connection");
+    }
+}
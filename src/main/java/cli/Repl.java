@@ -0,0 +1,91 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import processes.Durability;
+import processes.MrTracker;
+
+/**
+ * Repl class that runs MrTracker in the terminal, without loading any of the GUI.
+ * Skipping the JavaFX toolkit, the FXML layouts and the images makes the first prompt appear much sooner,
+ * which matters most over SSH and in scripts.
+ *
+ * <p>The time from the JVM starting to the first prompt is reported on standard error, so it does not mix with
+ * the responses on standard output.
+ *
+ * <p>Usage: <code>Repl [--durability sync|periodic|buffered]</code>.
+ */
+public class Repl {
+    private static final String PROMPT = "> ";
+
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    // fallback for when the operating system does not report when the process started
+    private static final Instant CLASS_LOADED = Instant.now();
+
+    private Repl() {
+    }
+
+    /**
+     * Reads commands from standard input one line at a time and prints each response, until <code>bye</code>
+     * or <code>exit</code>, or the end of the input.
+     *
+     * @param args The optional durability to save changes with.
+     * @throws IOException If the commands could not be read, or the responses could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Durability durability = MrTracker.DEFAULT_DURABILITY;
+        if (args.length == 2 && args[0].equals("--durability") && Durability.fromName(args[1]) != null) {
+            durability = Durability.fromName(args[1]);
+        } else if (args.length != 0) {
+            System.err.println("Usage: Repl [--durability sync|periodic|buffered]");
+            System.exit(1);
+        }
+
+        MrTracker tracker = new MrTracker(MrTracker.DIRPATH, durability);
+        tracker.load();
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ResponseWriter response = new ResponseWriter(out);
+        try {
+            out.write(tracker.getResponse("welcome"));
+            out.write("What can I do for you?\n");
+            reportStartup();
+            out.write(PROMPT);
+            out.flush();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    response.reset();
+                    tracker.execute(line.trim(), response);
+                    tracker.commit();
+                    out.write(response.endsWithNewline() ? "" : "\n");
+                    if (tracker.isExit(line)) {
+                        break;
+                    }
+                }
+                out.write(PROMPT);
+                // the response is only written out once the user needs to see it
+                out.flush();
+            }
+        } finally {
+            out.flush();
+            tracker.flush();
+        }
+    }
+
+    private static void reportStartup() {
+        Instant start = ProcessHandle.current().info().startInstant().orElse(CLASS_LOADED);
+        long millis = Duration.between(start, Instant.now()).toMillis();
+        System.err.println("(ready in " + millis + " ms)");
+    }
+}
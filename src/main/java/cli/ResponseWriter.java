@@ -0,0 +1,62 @@
+package cli;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * ResponseWriter class that passes a response through to the output while it is streamed,
+ * remembering whether it ended with a newline so the runners know how to separate it from the next one.
+ */
+class ResponseWriter extends FilterWriter {
+    private char last;
+    private boolean isEmpty = true;
+
+    /**
+     * Constructor for a ResponseWriter that writes to the given output.
+     *
+     * @param out The output to write the responses to.
+     */
+    ResponseWriter(Writer out) {
+        super(out);
+    }
+
+    /**
+     * Starts a new response, forgetting how the previous one ended.
+     */
+    void reset() {
+        isEmpty = true;
+    }
+
+    /**
+     * Returns whether the response written since the last reset ends with a newline.
+     */
+    boolean endsWithNewline() {
+        return !isEmpty && last == '\n';
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        out.write(c);
+        last = (char) c;
+        isEmpty = false;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        out.write(buffer, offset, length);
+        if (length > 0) {
+            last = buffer[offset + length - 1];
+            isEmpty = false;
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        out.write(text, offset, length);
+        if (length > 0) {
+            last = text.charAt(offset + length - 1);
+            isEmpty = false;
+        }
+    }
+}
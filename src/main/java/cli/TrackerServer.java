@@ -0,0 +1,183 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import processes.Durability;
+import processes.MrTracker;
+
+/**
+ * TrackerServer class that lets several programmes on this machine share one tracker, instead of each of them
+ * loading the saved tasks and overwriting the changes made by the others. Clients connect to a port on the
+ * loopback address and send one command per line. Each response is followed by a line holding only a full stop,
+ * and lines of a response starting with a full stop get another one in front, as in SMTP.
+ *
+ * <p>Clients may send several commands without waiting for the responses. The commands of a connection are run
+ * in order, and the responses are only sent once no more commands are waiting, so a pipelined batch is answered
+ * and queued to be saved in a few large writes. Each connection is served by its own thread, and all of them share one
+ * tracker, which is safe as its list of tasks is.
+ *
+ * <p>Usage: <code>TrackerServer [--port N] [--durability sync|periodic|buffered]</code>. The number of commands
+ * served and how long they took are reported on standard error every few seconds.
+ */
+public class TrackerServer {
+    public static final int DEFAULT_PORT = 5203;
+
+    private static final int BUFFER_SIZE = 1 << 13;
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+
+    private final MrTracker tracker;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "tracker-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // the commands served since the last report, and the time spent running them
+    private final LongAdder served = new LongAdder();
+    private final LongAdder servingNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Constructor for a TrackerServer that runs the commands of every connection on the given tracker.
+     *
+     * @param tracker The tracker to share between the connections.
+     */
+    public TrackerServer(MrTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * Accepts connections on the server socket until it is closed, serving each on its own thread.
+     *
+     * @param serverSocket The socket to accept connections on.
+     */
+    public void run(ServerSocket serverSocket) {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Error: could not accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the commands sent over the connection in order, until the client says bye or disconnects.
+     */
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            socket.setTcpNoDelay(true);
+            FramedResponseWriter response = new FramedResponseWriter(out);
+            String line;
+            while ((line = in.readLine()) != null) {
+                long start = System.nanoTime();
+                String command = line.trim();
+                // a blank line still gets an empty response, so a pipelining client can match up the responses
+                if (!command.isEmpty()) {
+                    tracker.execute(command, response);
+                }
+                response.endResponse();
+                record(System.nanoTime() - start);
+                if (tracker.isExit(command)) {
+                    break;
+                }
+                if (!in.ready()) {
+                    // no more commands are waiting, so the changes are queued to be saved in one write. Unless
+                    // the server runs with --durability sync, the journal is not forced onto the disk before the
+                    // client hears of the changes, so a crash soon after can still lose them
+                    tracker.commit();
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // the client disconnected
+        } finally {
+            tracker.commit();
+        }
+    }
+
+    private void record(long nanos) {
+        served.increment();
+        servingNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Reports the commands served since the last report, if there were any.
+     */
+    private void report() {
+        long count = served.sumThenReset();
+        long nanos = servingNanos.sumThenReset();
+        long max = maxNanos.getThenReset();
+        if (count == 0) {
+            return;
+        }
+        System.err.println("Served " + count + " command(s) in the last " + REPORT_INTERVAL_SECONDS + " s ("
+                + count / REPORT_INTERVAL_SECONDS + "/s), mean " + nanos / count / 1000 + " us, max "
+                + max / 1000 + " us");
+    }
+
+    /**
+     * Loads the saved tasks and serves them on the port given in the arguments, until the programme is stopped.
+     *
+     * @param args The optional port to listen on, and durability to save changes with.
+     * @throws IOException If the port could not be listened on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        Durability durability = MrTracker.DEFAULT_DURABILITY;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--durability") && i + 1 < args.length
+                    && Durability.fromName(args[i + 1]) != null) {
+                durability = Durability.fromName(args[++i]);
+            } else {
+                System.err.println("Usage: TrackerServer [--port N] [--durability sync|periodic|buffered]");
+                System.exit(1);
+            }
+        }
+
+        MrTracker tracker = new MrTracker(MrTracker.DIRPATH, durability);
+        tracker.load();
+        TrackerServer server = new TrackerServer(tracker);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            tracker.commit();
+            tracker.flush();
+        }));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tracker-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(server::report, REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.err.println("Serving your tasks on " + serverSocket.getLocalSocketAddress());
+            server.run(serverSocket);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package controllers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ChatHistory class that keeps only the latest messages of the chat in memory, however long the session runs.
+ * Once there are more than a window of messages, the oldest page of them is appended to a file and dropped
+ * from the list. Scrolling back reads the pages from the file into the front of the list again, and they are
+ * dropped once more when the next message arrives.
+ */
+public class ChatHistory {
+    private final List<ChatMessage> items;
+    private final Path file;
+    private final int windowSize;
+    private final int pageSize;
+
+    // where each page starts in the file, the pages are in the order they were written
+    private long[] pageOffsets = new long[16];
+    private int pageCount;
+    private long fileLength;
+
+    // the last few pages may have been read back into the front of the list
+    private int loadedPages;
+    private int loadedMessages;
+
+    /**
+     * Constructor for a ChatHistory that keeps the messages in the given list.
+     *
+     * @param items The list of messages being shown, e.g. the items of a <code>ListView</code>.
+     * @param file The file to move older messages to, which is overwritten.
+     * @param windowSize The most messages to keep in the list, apart from those read back while scrolling.
+     * @param pageSize The number of messages moved to the file or read back at a time.
+     */
+    public ChatHistory(List<ChatMessage> items, Path file, int windowSize, int pageSize) {
+        assert pageSize > 0 && pageSize <= windowSize : "Page size must be positive and at most the window size";
+        this.items = items;
+        this.file = file;
+        this.windowSize = windowSize;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Adds a message to the end of the chat. Any pages read back by scrolling are dropped first, and the oldest
+     * page is moved to the file if the list has grown past the window.
+     *
+     * @param message The message to add.
+     * @throws IOException If the oldest page could not be written to the file, in which case it is kept in memory.
+     */
+    public void add(ChatMessage message) throws IOException {
+        dropLoadedPages();
+        items.add(message);
+        if (items.size() > windowSize) {
+            writePage(items.subList(0, pageSize));
+            items.subList(0, pageSize).clear();
+        }
+    }
+
+    /**
+     * Returns whether there are older messages in the file that are not in the list.
+     */
+    public boolean hasEarlier() {
+        return loadedPages < pageCount;
+    }
+
+    /**
+     * Reads the page of messages before the first one in the list back into the front of the list.
+     *
+     * @return The number of messages added to the front of the list, which is 0 if there were none left.
+     * @throws IOException If the page could not be read from the file.
+     */
+    public int loadEarlier() throws IOException {
+        if (!hasEarlier()) {
+            return 0;
+        }
+        List<ChatMessage> page = readPage(pageCount - loadedPages - 1);
+        items.addAll(0, page);
+        loadedPages++;
+        loadedMessages += page.size();
+        return page.size();
+    }
+
+    private void dropLoadedPages() {
+        if (loadedMessages > 0) {
+            items.subList(0, loadedMessages).clear();
+        }
+        loadedPages = 0;
+        loadedMessages = 0;
+    }
+
+    /**
+     * Writes the page after the last page written, so that anything left by a failed write is overwritten.
+     */
+    private void writePage(List<ChatMessage> page) throws IOException {
+        StandardOpenOption[] options = pageCount == 0
+                ? new StandardOpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING}
+                : new StandardOpenOption[] {StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options).position(fileLength);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            for (ChatMessage message : page) {
+                byte[] text = message.getText().getBytes(StandardCharsets.UTF_8);
+                out.writeBoolean(message.isUser());
+                out.writeInt(text.length);
+                out.write(text);
+            }
+            out.flush();
+            if (pageCount == pageOffsets.length) {
+                pageOffsets = Arrays.copyOf(pageOffsets, pageCount * 2);
+            }
+            pageOffsets[pageCount++] = fileLength;
+            fileLength += out.size();
+        }
+    }
+
+    private List<ChatMessage> readPage(int page) throws IOException {
+        ArrayList<ChatMessage> messages = new ArrayList<>(pageSize);
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r")) {
+            in.seek(pageOffsets[page]);
+            for (int i = 0; i < pageSize; i++) {
+                boolean isUser = in.readBoolean();
+                byte[] text = new byte[in.readInt()];
+                in.readFully(text);
+                messages.add(new ChatMessage(new String(text, StandardCharsets.UTF_8), isUser));
+            }
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,28 @@
+package controllers;
+
+/**
+ * Represents a message in the chat, either typed by the user or replied by the chatbot.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isUser;
+
+    /**
+     * Constructor for a ChatMessage.
+     *
+     * @param text The text of the message.
+     * @param isUser Whether the message was typed by the user, rather than replied by the chatbot.
+     */
+    public ChatMessage(String text, boolean isUser) {
+        this.text = text;
+        this.isUser = isUser;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isUser() {
+        return isUser;
+    }
+}
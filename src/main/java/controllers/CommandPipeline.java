@@ -0,0 +1,107 @@
+package controllers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import processes.MrTracker;
+
+/**
+ * CommandPipeline class that runs the chatbot's work on a background thread, so that saving or searching a large
+ * list does not freeze the window. The work is run one piece at a time in the order it was submitted, as the
+ * commands must change the tasks in the order the user typed them, and each result is handed back through the
+ * given executor, e.g. <code>Platform::runLater</code> to update the window on the JavaFX application thread.
+ */
+public class CommandPipeline {
+    private static final String FAILED_MESSAGE = "Error: Something went wrong while running the command.";
+    // how long to wait on exit for the commands already sent and the last save
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final MrTracker chatbot;
+    private final Executor resultExecutor;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "command-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor for a CommandPipeline.
+     *
+     * @param chatbot The chatbot to run the commands on.
+     * @param resultExecutor Runs the callbacks given the results.
+     */
+    public CommandPipeline(MrTracker chatbot, Executor resultExecutor) {
+        this.chatbot = chatbot;
+        this.resultExecutor = resultExecutor;
+    }
+
+    /**
+     * Loads the saved tasks, then lists them. Commands submitted afterwards, even while the tasks are still
+     * loading, are run once the list has been made.
+     *
+     * @param onLoaded Given the list of tasks, or an error message if the tasks could not be listed.
+     */
+    public void load(Consumer<String> onLoaded) {
+        worker.execute(() -> {
+            String response;
+            try {
+                chatbot.load();
+                response = chatbot.getResponse("list");
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                response = FAILED_MESSAGE;
+            }
+            String loaded = response;
+            resultExecutor.execute(() -> onLoaded.accept(loaded));
+        });
+    }
+
+    /**
+     * Runs the command after every command submitted before it, and saves the changes it made.
+     *
+     * @param input The user input.
+     * @param onResponse Given the response by the chatbot, or an error message if the command failed.
+     */
+    public void submit(String input, Consumer<String> onResponse) {
+        try {
+            worker.execute(() -> {
+                String response;
+                try {
+                    response = chatbot.getResponse(input);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    response = FAILED_MESSAGE;
+                }
+                String result = response;
+                resultExecutor.execute(() -> onResponse.accept(result));
+            });
+        } catch (RejectedExecutionException e) {
+            // the programme is exiting, so the command is dropped
+        }
+    }
+
+    /**
+     * Waits for the commands already submitted to finish, then blocks until every change has been saved.
+     * If the commands take too long, or the wait is interrupted, they are stopped and what has been changed so far
+     * is still saved. No commands can be submitted afterwards.
+     */
+    public void shutdown() {
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            // a command that was stopped part way has not committed what it changed
+            chatbot.commit();
+            chatbot.flush();
+        }
+    }
+}
@@ -1,14 +1,6 @@
 package controllers;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -16,46 +8,57 @@ import javafx.scene.layout.HBox;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
- * and a label containing text from the speaker.
+ * and a label containing text from the speaker. Dialog boxes are built by a {@link DialogBoxFactory}.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private final Label dialog;
+    private final ImageView displayPicture;
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private boolean isFlipped;
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+    /**
+     * Constructor for a DialogBox that lays out the label and the picture, with the picture on the left
+     * if the dialog is the chatbot's.
+     */
+    DialogBox(Label dialog, ImageView displayPicture, boolean isChatBot) {
+        this.dialog = dialog;
+        this.displayPicture = displayPicture;
+        layOut(isChatBot);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box such that the ImageView is on the left and text on the right, or back again.
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        dialog.getStyleClass().add("reply-label");
-        setAlignment(Pos.TOP_LEFT);
+        layOut(!isFlipped);
     }
 
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+    private void layOut(boolean isChatBot) {
+        if (isChatBot) {
+            getChildren().setAll(displayPicture, dialog);
+            dialog.getStyleClass().add("reply-label");
+            setAlignment(Pos.TOP_LEFT);
+        } else {
+            getChildren().setAll(dialog, displayPicture);
+            dialog.getStyleClass().remove("reply-label");
+            setAlignment(Pos.TOP_RIGHT);
+        }
+        isFlipped = isChatBot;
     }
 
-    public static DialogBox getChatBotDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
+    /**
+     * Shows another message in the dialog box, so that a list cell can reuse one dialog box for every message
+     * it displays instead of creating a new one each time.
+     *
+     * @param text The text of the message.
+     * @param img The picture of the speaker.
+     * @param isChatBot Whether the message is from the chatbot, which is shown with the picture on the left.
+     */
+    public void setMessage(String text, Image img, boolean isChatBot) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (isChatBot != isFlipped) {
+            flip();
+        }
     }
 }
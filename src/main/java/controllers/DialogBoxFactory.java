@@ -0,0 +1,85 @@
+package controllers;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+
+/**
+ * DialogBoxFactory class that builds the dialog boxes of the chat in code, with the layout they used to be
+ * given by an FXML file. Parsing the FXML for every message was most of the cost of showing one, and the
+ * chatbot's boxes were then flipped after being built, so here the side the picture goes on is chosen before
+ * the nodes are added.
+ */
+public class DialogBoxFactory {
+    private static final String STYLESHEET = DialogBoxFactory.class.getResource("/css/dialog-box.css")
+            .toExternalForm();
+    private static final Insets BOX_PADDING = new Insets(15, 5, 15, 5);
+    private static final Insets LABEL_MARGIN = new Insets(0, 7, 0, 7);
+    private static final Insets LABEL_PADDING = new Insets(6);
+    private static final double PICTURE_SIZE = 99;
+    private static final double BOX_WIDTH = 400;
+
+    private final Image userImage;
+    private final Image chatBotImage;
+
+    /**
+     * Constructor for a DialogBoxFactory.
+     *
+     * @param userImage The picture shown next to the user's messages.
+     * @param chatBotImage The picture shown next to the chatbot's messages.
+     */
+    public DialogBoxFactory(Image userImage, Image chatBotImage) {
+        this.userImage = userImage;
+        this.chatBotImage = chatBotImage;
+    }
+
+    /**
+     * Returns a dialog box with the user's message, with the picture on the right.
+     */
+    public DialogBox createUserDialog(String text) {
+        return create(text, userImage, false);
+    }
+
+    /**
+     * Returns a dialog box with the chatbot's message, with the picture on the left.
+     */
+    public DialogBox createChatBotDialog(String text) {
+        return create(text, chatBotImage, true);
+    }
+
+    /**
+     * Shows the message in a dialog box built by this factory, with the picture of whoever sent it.
+     *
+     * @param dialogBox The dialog box to reuse.
+     * @param message The message to show.
+     */
+    public void showMessage(DialogBox dialogBox, ChatMessage message) {
+        dialogBox.setMessage(message.getText(), message.isUser() ? userImage : chatBotImage, !message.isUser());
+    }
+
+    private static DialogBox create(String text, Image img, boolean isChatBot) {
+        Label dialog = new Label(text);
+        dialog.setId("dialog");
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setWrapText(true);
+        dialog.setPadding(LABEL_PADDING);
+        HBox.setMargin(dialog, LABEL_MARGIN);
+
+        ImageView displayPicture = new ImageView(img);
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        DialogBox dialogBox = new DialogBox(dialog, displayPicture, isChatBot);
+        dialogBox.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        dialogBox.setPrefWidth(BOX_WIDTH);
+        dialogBox.setPadding(BOX_PADDING);
+        dialogBox.getStylesheets().add(STYLESHEET);
+        return dialogBox;
+    }
+}
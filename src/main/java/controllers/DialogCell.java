@@ -0,0 +1,42 @@
+package controllers;
+
+import javafx.scene.control.ListCell;
+
+/**
+ * Represents a row of the chat history. The list view only creates enough cells to fill the window,
+ * and each cell reuses a single dialog box for whichever message it is showing.
+ */
+public class DialogCell extends ListCell<ChatMessage> {
+    private final DialogBoxFactory dialogs;
+    private final DialogBox dialogBox;
+    private final Runnable onFirstShown;
+
+    /**
+     * Constructor for a DialogCell.
+     *
+     * @param dialogs The factory for the dialog box shown by the cell.
+     * @param onFirstShown Called when the cell shows the first message in the list, to load older messages.
+     */
+    public DialogCell(DialogBoxFactory dialogs, Runnable onFirstShown) {
+        this.dialogs = dialogs;
+        this.dialogBox = dialogs.createUserDialog("");
+        this.onFirstShown = onFirstShown;
+        // let the dialog box take the width of the list, so long messages wrap instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        dialogs.showMessage(dialogBox, message);
+        setGraphic(dialogBox);
+        if (getIndex() == 0) {
+            onFirstShown.run();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package controllers;
 import java.io.IOException;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -15,6 +16,7 @@ import processes.MrTracker;
 public class Main extends Application {
 
     private MrTracker chatbot = new MrTracker();
+    private CommandPipeline pipeline = new CommandPipeline(chatbot, Platform::runLater);
 
     @Override
     public void start(Stage stage) {
@@ -28,11 +30,19 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setMinHeight(220);
             stage.setMinWidth(417);
-            fxmlLoader.<MainWindow>getController().setChatBot(chatbot); // inject the Duke instance
-            fxmlLoader.<MainWindow>getController().welcomeUser();
+            MainWindow mainWindow = fxmlLoader.getController();
+            mainWindow.setChatBot(chatbot, pipeline); // inject the Duke instance
+            mainWindow.welcomeUser();
             stage.show();
+            // the saved tasks are read in the background, so the window appears before a large file is parsed
+            pipeline.load(mainWindow::showLoaded);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        pipeline.shutdown();
+    }
 }
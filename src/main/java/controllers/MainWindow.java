@@ -1,85 +1,169 @@
 package controllers;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
-import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
-import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 import processes.MrTracker;
 /**
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    // the most messages kept in memory, older ones are read back from a file when the user scrolls up to them
+    private static final int HISTORY_WINDOW = 200;
+    private static final int HISTORY_PAGE = 50;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressBar loadingBar;
 
     private MrTracker chatbot;
+    private CommandPipeline pipeline;
+    private ChatHistory history;
+    private boolean isLoadingEarlier;
+
+    private boolean isLoaded;
+    // commands sent but not yet answered, including those sent while the tasks are loading
+    private int pendingCommands;
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
+    private DialogBoxFactory dialogs = new DialogBoxFactory(userImage, dukeImage);
 
     @FXML
     public void initialize() {
-        // Bind the max value instead of the current value to the bottom of the content
-        scrollPane.vvalueProperty().bind(Bindings.createDoubleBinding(() ->
-                        dialogContainer.getHeight() / scrollPane.getContent().getBoundsInLocal().getHeight(),
-                dialogContainer.heightProperty(), scrollPane.heightProperty()));
+        dialogList.setCellFactory(list -> new DialogCell(dialogs, this::requestEarlierMessages));
+        dialogList.setFocusTraversable(false);
+        try {
+            Path historyFile = Files.createTempFile("mrtracker-chat", ".history");
+            historyFile.toFile().deleteOnExit();
+            history = new ChatHistory(dialogList.getItems(), historyFile, HISTORY_WINDOW, HISTORY_PAGE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
 
-        scrollPane.setOnMouseEntered(event -> {
+        dialogList.setOnMouseEntered(event -> {
             if (!userInput.isFocused()) {
-                scrollPane.requestFocus();
+                dialogList.requestFocus();
             }
         });
     }
 
-    /** Injects the Duke instance */
-    public void setChatBot(MrTracker chatbot) {
+    /** Injects the Duke instance, and the pipeline that runs its commands off the JavaFX application thread */
+    public void setChatBot(MrTracker chatbot, CommandPipeline pipeline) {
         this.chatbot = chatbot;
+        this.pipeline = pipeline;
     }
 
-    /** Outputs welcome message when user starts app */
+    /** Outputs welcome message when user starts app, while the tasks are loading */
     public void welcomeUser() {
         String welcomeMessage = chatbot.getResponse("welcome");
-        String listTasks = chatbot.getResponse("list");
-        dialogContainer.getChildren().addAll(
-                DialogBox.getChatBotDialog(welcomeMessage, dukeImage),
-                DialogBox.getChatBotDialog(listTasks, dukeImage)
-        );
+        showMessage(new ChatMessage(welcomeMessage, false));
+        userInput.setPromptText("Loading your tasks...");
+    }
+
+    /**
+     * Called once the tasks have been loaded, with the list of them. The commands sent while loading are
+     * answered after it.
+     *
+     * @param listTasks The response to the list command.
+     */
+    public void showLoaded(String listTasks) {
+        isLoaded = true;
+        userInput.setPromptText("");
+        updateLoadingBar();
+        showMessage(new ChatMessage(listTasks, false));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Creates a dialog box echoing user input and appends it to the dialog container, then sends the input
+     * to be answered in the background. Several commands can be sent before the first is answered,
+     * and the replies are shown in the order the commands were sent.
+     * Clears the user input after processing.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = chatbot.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getChatBotDialog(response, dukeImage)
-        );
+        showMessage(new ChatMessage(input, true));
         userInput.clear();
+        pendingCommands++;
+        updateLoadingBar();
+        pipeline.submit(input, response -> respond(input, response));
+    }
+
+    /**
+     * Shows the progress bar while the tasks are loading or any command has not been answered.
+     */
+    private void updateLoadingBar() {
+        loadingBar.setVisible(!isLoaded || pendingCommands > 0);
+    }
 
-        // Check if the input is "bye"
-        if (input.trim().equalsIgnoreCase("bye")) {
+    /**
+     * Creates the dialog box containing Duke's reply to the input and appends it to the dialog container.
+     */
+    private void respond(String input, String response) {
+        pendingCommands--;
+        updateLoadingBar();
+        showMessage(new ChatMessage(response, false));
+
+        if (chatbot.isExit(input)) {
             PauseTransition delay = new PauseTransition(Duration.seconds(1));
             delay.setOnFinished(event -> Platform.exit());
             delay.play();
         }
 
     }
+
+    /**
+     * Adds the message to the end of the chat history and scrolls down to it.
+     */
+    private void showMessage(ChatMessage message) {
+        if (history == null) {
+            dialogList.getItems().add(message);
+        } else {
+            try {
+                history.add(message);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        dialogList.scrollTo(dialogList.getItems().size() - 1);
+    }
+
+    /**
+     * Loads the older messages once the user scrolls up to the first message in the list.
+     * The loading is done after the current layout pass, as the list cannot change while its cells are updated.
+     */
+    private void requestEarlierMessages() {
+        if (isLoadingEarlier || history == null || !history.hasEarlier()) {
+            return;
+        }
+        isLoadingEarlier = true;
+        Platform.runLater(() -> {
+            try {
+                int loaded = history.loadEarlier();
+                // keep the message the user was looking at in place
+                dialogList.scrollTo(loaded);
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                isLoadingEarlier = false;
+            }
+        });
+    }
 }
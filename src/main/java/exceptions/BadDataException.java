@@ -1,6 +1,6 @@
 package exceptions;
 
-public class BadDataException extends Exception{
+public class BadDataException extends StacklessException {
 
     public BadDataException() {
         super("Error: The data provided in data/tasks.txt is not in the correct format");
@@ -4,7 +4,7 @@ package exceptions;
  * Exception that indicates that the tag provided is empty, usually because it was just white space.
  *
  */
-public class EmptyTagException extends Exception {
+public class EmptyTagException extends StacklessException {
 
     /**
      * Default error message to show users
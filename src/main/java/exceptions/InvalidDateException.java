@@ -4,7 +4,7 @@ package exceptions;
  * Exception that indicates an error with the dates provided to the tasks.
  *
  */
-public class InvalidDateException extends Exception {
+public class InvalidDateException extends StacklessException {
 
     /**
      * Default error message to show users when no message is provided
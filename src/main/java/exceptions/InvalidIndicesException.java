@@ -0,0 +1,24 @@
+package exceptions;
+
+/**
+ * Exception that indicates that the indices provided by the user are not a list of numbers and ranges.
+ * It is a <code>NumberFormatException</code>, as thrown by <code>Integer.parseInt</code> before, but records
+ * no stack trace, as mistyped indices are expected.
+ *
+ */
+public class InvalidIndicesException extends NumberFormatException {
+
+    /**
+     * Takes in the indices provided by the user.
+     *
+     * @param indices The indices that could not be read.
+     */
+    public InvalidIndicesException(String indices) {
+        super("Error: " + indices + " is not a valid list of indices");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
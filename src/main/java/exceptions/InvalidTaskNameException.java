@@ -4,7 +4,7 @@ package exceptions;
  * Exception that indicates an error with the name provided to the tasks.
  *
  */
-public class InvalidTaskNameException extends Exception {
+public class InvalidTaskNameException extends StacklessException {
 
     /**
      * Takes in a name, allowing for the customisation of error messages.
@@ -1,6 +1,6 @@
 package exceptions;
 
-public class SpaceInTagException extends Exception{
+public class SpaceInTagException extends StacklessException {
     /**
      * Default error message to show users
      */
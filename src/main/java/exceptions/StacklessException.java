@@ -0,0 +1,19 @@
+package exceptions;
+
+/**
+ * Exception that reports a problem with what the user typed or with the saved data.
+ * These are expected while the chatbot runs and only their message is shown, so no stack trace is recorded,
+ * which makes rejecting a command about as cheap as accepting it.
+ *
+ */
+public abstract class StacklessException extends Exception {
+
+    /**
+     * Takes in the message to show the user, without recording a stack trace.
+     *
+     * @param message The message that explains what went wrong.
+     */
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -4,7 +4,7 @@ package exceptions;
  * Exception that indicates that the index provided by the user is out of range of the taskList
  *
  */
-public class TaskOutOfBoundsError extends Exception {
+public class TaskOutOfBoundsError extends StacklessException {
     /**
      * Takes in the index given by the user.
      * Informs user that the index provided is out of range
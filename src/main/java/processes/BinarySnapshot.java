@@ -0,0 +1,248 @@
+package processes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import exceptions.BadDataException;
+import tasks.DeadLine;
+import tasks.Event;
+import tasks.Task;
+import tasks.ToDo;
+
+/**
+ * BinarySnapshot class that handles the binary format of the snapshot file.
+ * Unlike the text format, no field needs to be split or parsed: dates are stored as epoch days,
+ * tags are stored once in a string table, and the file is read through a memory map.
+ *
+ * <p>The layout is a fixed header (magic, version, task count, tag count, CRC32 of the body),
+ * followed by the tag table of length-prefixed UTF-8 strings, followed by one record per task:
+ * type byte, done flag, epoch days of its dates, its tag ids and its length-prefixed UTF-8 name.
+ */
+public class BinarySnapshot {
+    public static final int MAGIC = 0x4D52544B;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 24;
+    private static final int CHECKSUM_OFFSET = 16;
+    // type, done flag, tag count and name length
+    private static final int MIN_TASK_LENGTH = 10;
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Returns the binary snapshot of the tasks, ready to be written out.
+     * Everything about the tasks is captured, so they can be changed while the snapshot is being written.
+     *
+     * @param tasks The tasks to encode.
+     * @return The buffer containing the snapshot, positioned at its start.
+     */
+    public static ByteBuffer encode(List<Task> tasks) {
+        HashMap<String, Integer> tagIds = new HashMap<>();
+        ArrayList<byte[]> tagTable = new ArrayList<>();
+        byte[][] names = new byte[tasks.size()][];
+        int size = HEADER_LENGTH;
+
+        for (int i = 0; i < names.length; i++) {
+            Task task = tasks.get(i);
+            names[i] = task.getName().getBytes(StandardCharsets.UTF_8);
+            size += 1 + 1 + 4 + names[i].length + 4 + 4 * task.getTags().size();
+            if (task instanceof DeadLine) {
+                size += 4;
+            } else if (task instanceof Event) {
+                size += 8;
+            }
+            for (String tag : task.getTags()) {
+                if (!tagIds.containsKey(tag)) {
+                    byte[] encodedTag = tag.getBytes(StandardCharsets.UTF_8);
+                    tagIds.put(tag, tagTable.size());
+                    tagTable.add(encodedTag);
+                    size += 4 + encodedTag.length;
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(names.length).putInt(tagTable.size()).putLong(0);
+        for (byte[] tag : tagTable) {
+            buffer.putInt(tag.length).put(tag);
+        }
+        for (int i = 0; i < names.length; i++) {
+            Task task = tasks.get(i);
+            if (task instanceof DeadLine) {
+                buffer.put((byte) 'D').put(task.isDone() ? (byte) 1 : 0);
+                buffer.putInt((int) ((DeadLine) task).getEndDate().toEpochDay());
+            } else if (task instanceof Event) {
+                buffer.put((byte) 'E').put(task.isDone() ? (byte) 1 : 0);
+                buffer.putInt((int) ((Event) task).getFromDate().toEpochDay());
+                buffer.putInt((int) ((Event) task).getToDate().toEpochDay());
+            } else {
+                buffer.put((byte) 'T').put(task.isDone() ? (byte) 1 : 0);
+            }
+            buffer.putInt(task.getTags().size());
+            for (String tag : task.getTags()) {
+                buffer.putInt(tagIds.get(tag));
+            }
+            buffer.putInt(names[i].length).put(names[i]);
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.flip().position(HEADER_LENGTH));
+        buffer.putLong(CHECKSUM_OFFSET, checksum.getValue());
+        return buffer.position(0);
+    }
+
+    /**
+     * Reads the tasks in the binary snapshot into tasks, through a memory map of the file.
+     * An empty file is an empty snapshot. If the body of the snapshot is corrupted, the tasks before the
+     * corruption are still read, and the tasks after it are added as nulls, so that journal records still
+     * refer to the right tasks.
+     *
+     * @param path The path to the binary snapshot.
+     * @param tasks The list to add the tasks to.
+     * @return Whether the snapshot was intact.
+     * @throws IOException If the file could not be read.
+     * @throws BadDataException If the header is corrupted, so it is not known how many tasks the snapshot holds.
+     */
+    public static boolean read(Path path, List<Task> tasks) throws IOException, BadDataException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            if (channel.size() < HEADER_LENGTH || channel.size() > Integer.MAX_VALUE) {
+                throw new BadDataException();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new BadDataException();
+            }
+            int taskCount = buffer.getInt();
+            int tagCount = buffer.getInt();
+            long expectedChecksum = buffer.getLong();
+            if (taskCount < 0 || taskCount > buffer.remaining() / MIN_TASK_LENGTH) {
+                throw new BadDataException();
+            }
+
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.duplicate());
+            boolean isIntact = checksum.getValue() == expectedChecksum;
+
+            int firstTask = tasks.size();
+            try {
+                if (tagCount < 0 || tagCount > buffer.remaining() / 4) {
+                    throw new IllegalArgumentException("Snapshot cannot have " + tagCount + " tags");
+                }
+                String[] tagTable = new String[tagCount];
+                for (int i = 0; i < tagCount; i++) {
+                    tagTable[i] = readString(buffer);
+                }
+                for (int i = 0; i < taskCount; i++) {
+                    tasks.add(readTask(buffer, tagTable));
+                }
+            } catch (RuntimeException e) {
+                // the rest of the snapshot is unreadable, keep what was read before it
+                while (tasks.size() - firstTask < taskCount) {
+                    tasks.add(null);
+                }
+                return false;
+            }
+            return isIntact;
+        }
+    }
+
+    private static Task readTask(ByteBuffer buffer, String[] tagTable) {
+        byte type = buffer.get();
+        boolean isDone = buffer.get() == 1;
+        LocalDate firstDate = null;
+        LocalDate secondDate = null;
+        if (type == 'D' || type == 'E') {
+            firstDate = LocalDate.ofEpochDay(buffer.getInt());
+        }
+        if (type == 'E') {
+            secondDate = LocalDate.ofEpochDay(buffer.getInt());
+        }
+
+        int tagCount = buffer.getInt();
+        if (tagCount < 0 || tagCount > buffer.remaining() / 4) {
+            throw new IllegalArgumentException("Task cannot have " + tagCount + " tags");
+        }
+        String[] tags = new String[tagCount];
+        for (int j = 0; j < tags.length; j++) {
+            tags[j] = tagTable[buffer.getInt()];
+        }
+        String name = readString(buffer);
+
+        switch (type) {
+        case 'T':
+            return new ToDo(name, isDone, Arrays.asList(tags));
+        case 'D':
+            return new DeadLine(name, isDone, firstDate, Arrays.asList(tags));
+        case 'E':
+            return new Event(name, isDone, firstDate, secondDate, Arrays.asList(tags));
+        default:
+            throw new IllegalArgumentException("Task of type " + (char) type + " does not exist");
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("String of length " + length + " does not fit in the snapshot");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Converts the tasks saved by one storage into the format of another, emptying the journal on the way.
+     * Both storages must share the same journal.
+     *
+     * @param from The storage to read the tasks from.
+     * @param to The storage to write the tasks to.
+     * @return The number of tasks converted.
+     */
+    public static int convert(Storage from, Storage to) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        // fold the journal into the old snapshot first, so that none of it is replayed onto the new one
+        from.compact();
+        from.loadData(tasks);
+        to.save(tasks);
+        to.flush();
+        return tasks.size();
+    }
+
+    /**
+     * Converts the saved tasks between the text and binary formats, replacing the old snapshot file.
+     * Usage: <code>BinarySnapshot binary</code> or <code>BinarySnapshot text</code>, run from the folder
+     * containing the data folder.
+     *
+     * @param args The format to convert the saved tasks to.
+     * @throws IOException If the old snapshot file could not be deleted.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 || !(args[0].equals("binary") || args[0].equals("text"))) {
+            System.out.println("Usage: BinarySnapshot binary|text");
+            return;
+        }
+        Storage text = new Storage(MrTracker.DIRPATH, MrTracker.FILEPATH, MrTracker.JOURNALPATH);
+        Storage binary = new Storage(MrTracker.DIRPATH, MrTracker.BINARY_FILEPATH, MrTracker.JOURNALPATH);
+        boolean isToBinary = args[0].equals("binary");
+        int count = isToBinary ? convert(text, binary) : convert(binary, text);
+        Files.deleteIfExists(Paths.get(isToBinary ? MrTracker.FILEPATH : MrTracker.BINARY_FILEPATH));
+        System.out.println("Converted " + count + " task(s) to the " + args[0] + " format");
+    }
+}
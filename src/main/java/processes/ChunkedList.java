@@ -0,0 +1,432 @@
+package processes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * ChunkedList class that stores a list as a sequence of small arrays, called chunks.
+ * A Fenwick tree over the sizes of the chunks finds the chunk holding any position in O(log n),
+ * so inserting or removing an element only shifts the elements in its own chunk, instead of every
+ * element after it as in an <code>ArrayList</code>.
+ *
+ * <p>Chunks are split when they fill up, and merged with a neighbour when they become mostly empty,
+ * so the number of chunks stays proportional to the size of the list.
+ *
+ * <p>A {@link #snapshot()} shares the chunks with the list instead of copying the elements. The chunks are
+ * marked as shared, and the list copies a shared chunk the next time it writes to it, so the snapshot never
+ * sees a later change.
+ *
+ * @param <E> The type of the elements in the list.
+ */
+public class ChunkedList<E> extends AbstractList<E> {
+    private static final int CHUNK_CAPACITY = 512;
+
+    private Object[][] chunks = new Object[4][];
+    private int[] chunkSizes = new int[4];
+    // whether each chunk may be in a snapshot, in which case it is copied before it is written to
+    private boolean[] shared = new boolean[4];
+    private int chunkCount;
+    // fenwick[i] holds the total size of chunks (i - lowestOneBit(i), i], numbered from 1
+    private int[] fenwick = new int[5];
+    private int size;
+
+    // set by locate, to save allocating a pair for every lookup
+    private int foundChunk;
+    private int foundOffset;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        locate(index);
+        return (E) chunks[foundChunk][foundOffset];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        locate(index);
+        E previous = (E) chunks[foundChunk][foundOffset];
+        writableChunk(foundChunk)[foundOffset] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(E element) {
+        if (chunkCount == 0 || chunkSizes[chunkCount - 1] == CHUNK_CAPACITY) {
+            appendChunk();
+        }
+        int last = chunkCount - 1;
+        writableChunk(last)[chunkSizes[last]++] = element;
+        addToFenwick(last, 1);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        locate(index);
+        int chunk = foundChunk;
+        int offset = foundOffset;
+        if (chunkSizes[chunk] == CHUNK_CAPACITY) {
+            splitChunk(chunk);
+            if (offset >= chunkSizes[chunk]) {
+                offset -= chunkSizes[chunk];
+                chunk++;
+            }
+        }
+        Object[] data = writableChunk(chunk);
+        System.arraycopy(data, offset, data, offset + 1, chunkSizes[chunk] - offset);
+        data[offset] = element;
+        chunkSizes[chunk]++;
+        addToFenwick(chunk, 1);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index, size);
+        locate(index);
+        int chunk = foundChunk;
+        Object[] data = writableChunk(chunk);
+        E removed = (E) data[foundOffset];
+        System.arraycopy(data, foundOffset + 1, data, foundOffset, chunkSizes[chunk] - foundOffset - 1);
+        data[--chunkSizes[chunk]] = null;
+        addToFenwick(chunk, -1);
+        size--;
+        modCount++;
+
+        if (chunkSizes[chunk] == 0) {
+            removeChunk(chunk);
+        } else if (chunkSizes[chunk] < CHUNK_CAPACITY / 4) {
+            mergeWithNeighbour(chunk);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the elements at the indices in a single pass, instead of shifting the list once for every element.
+     * Only the chunks holding a removed element are compacted, and the chunks left mostly empty are merged.
+     *
+     * @param indices The indices of the elements to remove, in ascending order and without repeats.
+     */
+    public void removeIndices(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        checkIndex(indices[0], size);
+        checkIndex(indices[indices.length - 1], size);
+        int next = 0;
+        int chunkStart = 0;
+        for (int chunk = 0; chunk < chunkCount && next < indices.length; chunk++) {
+            int chunkSize = chunkSizes[chunk];
+            if (indices[next] >= chunkStart + chunkSize) {
+                chunkStart += chunkSize;
+                continue;
+            }
+            Object[] data = writableChunk(chunk);
+            int kept = 0;
+            for (int offset = 0; offset < chunkSize; offset++) {
+                if (next < indices.length && indices[next] == chunkStart + offset) {
+                    next++;
+                } else {
+                    data[kept++] = data[offset];
+                }
+            }
+            Arrays.fill(data, kept, chunkSize, null);
+            chunkSizes[chunk] = kept;
+            chunkStart += chunkSize;
+        }
+        size -= indices.length;
+        modCount++;
+
+        // drop the emptied chunks, and merge neighbours that fit in half a chunk together
+        int kept = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int chunkSize = chunkSizes[chunk];
+            if (chunkSize == 0) {
+                continue;
+            }
+            if (kept > 0 && chunkSizes[kept - 1] + chunkSize <= CHUNK_CAPACITY / 2) {
+                System.arraycopy(chunks[chunk], 0, writableChunk(kept - 1), chunkSizes[kept - 1], chunkSize);
+                chunkSizes[kept - 1] += chunkSize;
+            } else {
+                chunks[kept] = chunks[chunk];
+                chunkSizes[kept] = chunkSize;
+                shared[kept] = shared[chunk];
+                kept++;
+            }
+        }
+        Arrays.fill(chunks, kept, chunkCount, null);
+        Arrays.fill(chunkSizes, kept, chunkCount, 0);
+        Arrays.fill(shared, kept, chunkCount, false);
+        chunkCount = kept;
+        rebuildFenwick();
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[4][];
+        chunkSizes = new int[4];
+        shared = new boolean[4];
+        chunkCount = 0;
+        fenwick = new int[5];
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator that walks the chunks directly, instead of locating every position.
+     *
+     * @return An iterator over the elements in order.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int chunk;
+            private int offset;
+            private int remaining = size;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                while (offset == chunkSizes[chunk]) {
+                    chunk++;
+                    offset = 0;
+                }
+                remaining--;
+                return (E) chunks[chunk][offset++];
+            }
+        };
+    }
+
+    /**
+     * Returns an immutable copy of the list, which shares the chunks with the list instead of copying
+     * the elements, so it costs O(number of chunks) to take. The list copies a chunk the next time it
+     * writes to it, so the snapshot never changes.
+     *
+     * @return An immutable copy of the list.
+     */
+    public List<E> snapshot() {
+        int[] starts = new int[chunkCount + 1];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            starts[chunk + 1] = starts[chunk] + chunkSizes[chunk];
+            shared[chunk] = true;
+        }
+        return new Snapshot<>(Arrays.copyOf(chunks, chunkCount), starts);
+    }
+
+    /**
+     * Returns the chunk to write to, copying it first if it may be in a snapshot.
+     */
+    private Object[] writableChunk(int chunk) {
+        if (shared[chunk]) {
+            chunks[chunk] = chunks[chunk].clone();
+            shared[chunk] = false;
+        }
+        return chunks[chunk];
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    /**
+     * Finds the chunk holding the position, and the offset of the position in it, by descending the Fenwick tree.
+     */
+    private void locate(int index) {
+        int position = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(chunkCount); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= chunkCount && fenwick[next] <= remaining) {
+                position = next;
+                remaining -= fenwick[next];
+            }
+        }
+        foundChunk = position;
+        foundOffset = remaining;
+    }
+
+    private void addToFenwick(int chunk, int delta) {
+        for (int i = chunk + 1; i <= chunkCount; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    private void rebuildFenwick() {
+        if (fenwick.length < chunks.length + 1) {
+            fenwick = new int[chunks.length + 1];
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            fenwick[i] = chunkSizes[i - 1];
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            int parent = i + (i & -i);
+            if (parent <= chunkCount) {
+                fenwick[parent] += fenwick[i];
+            }
+        }
+    }
+
+    private void ensureChunkCapacity() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            chunkSizes = Arrays.copyOf(chunkSizes, chunkCount * 2);
+            shared = Arrays.copyOf(shared, chunkCount * 2);
+            fenwick = Arrays.copyOf(fenwick, chunkCount * 2 + 1);
+        }
+    }
+
+    /**
+     * Appends an empty chunk, working out its Fenwick entry from the entries of the chunks it covers.
+     */
+    private void appendChunk() {
+        ensureChunkCapacity();
+        chunks[chunkCount] = new Object[CHUNK_CAPACITY];
+        chunkSizes[chunkCount] = 0;
+        shared[chunkCount] = false;
+        chunkCount++;
+        int node = chunkCount;
+        int total = 0;
+        for (int i = node - 1; i > node - (node & -node); i -= i & -i) {
+            total += fenwick[i];
+        }
+        fenwick[node] = total;
+    }
+
+    private void splitChunk(int chunk) {
+        ensureChunkCapacity();
+        System.arraycopy(chunks, chunk + 1, chunks, chunk + 2, chunkCount - chunk - 1);
+        System.arraycopy(chunkSizes, chunk + 1, chunkSizes, chunk + 2, chunkCount - chunk - 1);
+        System.arraycopy(shared, chunk + 1, shared, chunk + 2, chunkCount - chunk - 1);
+        int half = chunkSizes[chunk] / 2;
+        Object[] upper = new Object[CHUNK_CAPACITY];
+        System.arraycopy(chunks[chunk], half, upper, 0, chunkSizes[chunk] - half);
+        Arrays.fill(writableChunk(chunk), half, chunkSizes[chunk], null);
+        chunks[chunk + 1] = upper;
+        shared[chunk + 1] = false;
+        chunkSizes[chunk + 1] = chunkSizes[chunk] - half;
+        chunkSizes[chunk] = half;
+        chunkCount++;
+        rebuildFenwick();
+    }
+
+    private void removeChunk(int chunk) {
+        System.arraycopy(chunks, chunk + 1, chunks, chunk, chunkCount - chunk - 1);
+        System.arraycopy(chunkSizes, chunk + 1, chunkSizes, chunk, chunkCount - chunk - 1);
+        System.arraycopy(shared, chunk + 1, shared, chunk, chunkCount - chunk - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+        chunkSizes[chunkCount] = 0;
+        shared[chunkCount] = false;
+        rebuildFenwick();
+    }
+
+    private void mergeWithNeighbour(int chunk) {
+        int left;
+        if (chunk + 1 < chunkCount && chunkSizes[chunk] + chunkSizes[chunk + 1] <= CHUNK_CAPACITY / 2) {
+            left = chunk;
+        } else if (chunk > 0 && chunkSizes[chunk - 1] + chunkSizes[chunk] <= CHUNK_CAPACITY / 2) {
+            left = chunk - 1;
+        } else {
+            return;
+        }
+        System.arraycopy(chunks[left + 1], 0, writableChunk(left), chunkSizes[left], chunkSizes[left + 1]);
+        chunkSizes[left] += chunkSizes[left + 1];
+        chunkSizes[left + 1] = 0;
+        removeChunk(left + 1);
+    }
+
+    /**
+     * An immutable copy of a ChunkedList, which holds the chunks that were in the list when it was taken.
+     * The chunks are never empty, so the chunk holding a position is found by a binary search over
+     * the positions the chunks start at.
+     */
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[][] chunks;
+        // starts[i] is the position of the first element of chunk i, and the last entry is the size
+        private final int[] starts;
+
+        private Snapshot(Object[][] chunks, int[] starts) {
+            this.chunks = chunks;
+            this.starts = starts;
+        }
+
+        @Override
+        public int size() {
+            return starts[chunks.length];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkIndex(index, size());
+            int chunk = Arrays.binarySearch(starts, index);
+            if (chunk < 0) {
+                chunk = -chunk - 2;
+            }
+            return (E) chunks[chunk][index - starts[chunk]];
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<>() {
+                private int chunk;
+                private int offset;
+
+                @Override
+                public boolean hasNext() {
+                    return chunk < chunks.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public E next() {
+                    if (chunk == chunks.length) {
+                        throw new NoSuchElementException();
+                    }
+                    E element = (E) chunks[chunk][offset++];
+                    if (offset == starts[chunk + 1] - starts[chunk]) {
+                        chunk++;
+                        offset = 0;
+                    }
+                    return element;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package processes;
+
+import java.io.IOException;
+
+/**
+ * Represents what a command does with the arguments the user typed after its name.
+ */
+public interface Command {
+
+    /**
+     * Runs the command and returns the response to show the user.
+     *
+     * @param arguments Everything the user typed after the name of the command, which may be empty.
+     * @return The response to the command.
+     */
+    String execute(String arguments);
+
+    /**
+     * Runs the command and writes the response to show the user.
+     * By default, the response is built as a string first and then written.
+     *
+     * @param arguments Everything the user typed after the name of the command, which may be empty.
+     * @param out Where to write the response.
+     * @throws IOException If the response could not be written.
+     */
+    default void execute(String arguments, Appendable out) throws IOException {
+        out.append(execute(arguments));
+    }
+}
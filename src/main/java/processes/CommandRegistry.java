@@ -0,0 +1,202 @@
+package processes;
+
+import java.io.IOException;
+
+/**
+ * CommandRegistry class that finds the command named at the start of the user's input.
+ * Commands are kept in a hash table keyed by the first word of their name, hashed without regard to case,
+ * so a lookup only hashes the first word of the input and compares it in place. No strings are created
+ * to find a command, and the cost of a lookup does not grow with the number of commands.
+ */
+public class CommandRegistry {
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * Represents a name or alias of a command. A name may have several words, e.g. <code>remove tags</code>.
+     */
+    private static class Entry {
+        private final String name;
+        private final int firstWordLength;
+        private final int hash;
+        private final boolean takesArguments;
+        private final Command command;
+
+        private Entry(String name, int firstWordLength, int hash, boolean takesArguments, Command command) {
+            this.name = name;
+            this.firstWordLength = firstWordLength;
+            this.hash = hash;
+            this.takesArguments = takesArguments;
+            this.command = command;
+        }
+    }
+
+    // open addressing with linear probing, the capacity is always a power of two
+    private Entry[] table = new Entry[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a command under its name and any aliases. Names and aliases are matched regardless of case.
+     *
+     * @param name The name of the command.
+     * @param takesArguments Whether the command accepts anything typed after its name.
+     * @param command What the command does.
+     * @param aliases Other names the command can be called by.
+     */
+    public void register(String name, boolean takesArguments, Command command, String... aliases) {
+        add(name, takesArguments, command);
+        for (String alias : aliases) {
+            add(alias, takesArguments, command);
+        }
+    }
+
+    private void add(String name, boolean takesArguments, Command command) {
+        assert !name.isBlank() && name.equals(name.trim()) : "Command names cannot have surrounding whitespace";
+        if ((size + 1) * 2 > table.length) {
+            resize();
+        }
+        int firstWordLength = wordEnd(name, 0);
+        int hash = hash(name, 0, firstWordLength);
+        insert(new Entry(name, firstWordLength, hash, takesArguments, command));
+        size++;
+    }
+
+    private void insert(Entry entry) {
+        int mask = table.length - 1;
+        int slot = entry.hash & mask;
+        while (table[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+    }
+
+    private void resize() {
+        Entry[] old = table;
+        table = new Entry[old.length * 2];
+        for (Entry entry : old) {
+            if (entry != null) {
+                insert(entry);
+            }
+        }
+    }
+
+    /**
+     * Runs the command named at the start of the input with the rest of the input as its arguments.
+     * If several names match, e.g. <code>remove</code> and <code>remove tags</code>, the longest one is used.
+     *
+     * @param input The user input.
+     * @return The response to the command, or null if the input does not start with the name of a command,
+     *     or has arguments for a command that takes none.
+     */
+    public String dispatch(String input) {
+        Entry match = find(input);
+        return match == null ? null : match.command.execute(arguments(input, match));
+    }
+
+    /**
+     * Runs the command named at the start of the input with the rest of the input as its arguments,
+     * writing its response as it is built if the command supports it.
+     *
+     * @param input The user input.
+     * @param out Where to write the response.
+     * @return Whether a command was run, which is false if the input does not start with the name of a command,
+     *     or has arguments for a command that takes none.
+     * @throws IOException If the response could not be written.
+     */
+    public boolean dispatch(String input, Appendable out) throws IOException {
+        Entry match = find(input);
+        if (match == null) {
+            return false;
+        }
+        match.command.execute(arguments(input, match), out);
+        return true;
+    }
+
+    /**
+     * Returns the command named at the start of the input, without running it.
+     *
+     * @param input The user input.
+     * @return The command that <code>dispatch</code> would run for the input, or null if it would run none.
+     */
+    public Command lookup(String input) {
+        Entry match = find(input);
+        return match == null ? null : match.command;
+    }
+
+    private static int nameStart(String input) {
+        int start = 0;
+        while (start < input.length() && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the command named at the start of the input, or null if there is none, or if it takes no arguments
+     * but the input has some. If several names match, the longest one is used.
+     */
+    private Entry find(String input) {
+        int start = nameStart(input);
+        int end = wordEnd(input, start);
+        if (start == end) {
+            return null;
+        }
+
+        int hash = hash(input, start, end);
+        int mask = table.length - 1;
+        Entry match = null;
+        for (int slot = hash & mask; table[slot] != null; slot = (slot + 1) & mask) {
+            Entry entry = table[slot];
+            if (entry.hash == hash && entry.firstWordLength == end - start && matches(input, start, entry.name)
+                    && (match == null || entry.name.length() > match.name.length())) {
+                match = entry;
+            }
+        }
+        if (match != null && !match.takesArguments && !isBlankFrom(input, start + match.name.length())) {
+            return null;
+        }
+        return match;
+    }
+
+    private static boolean isBlankFrom(String input, int start) {
+        for (int i = start; i < input.length(); i++) {
+            if (!Character.isWhitespace(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String arguments(String input, Entry match) {
+        return match.takesArguments ? input.substring(nameStart(input) + match.name.length()) : "";
+    }
+
+    /**
+     * Returns whether the input contains the name at the start position, followed by whitespace or its end.
+     */
+    private static boolean matches(String input, int start, String name) {
+        int end = start + name.length();
+        return input.regionMatches(true, start, name, 0, name.length())
+                && (end == input.length() || Character.isWhitespace(input.charAt(end)));
+    }
+
+    private static int wordEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the hash of the characters from start to end, ignoring case in the same way as
+     * <code>String.regionMatches</code>, so that names equal regardless of case have the same hash.
+     */
+    private static int hash(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+        }
+        // spread the higher bits into the lower bits used to pick a slot
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,249 @@
+package processes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import tasks.DeadLine;
+import tasks.Event;
+import tasks.Task;
+
+/**
+ * DateIndex class that orders the dated tasks by their dates, so that questions like
+ * "what is due this week" do not need every task to be checked and sorted.
+ *
+ * <p>Deadlines are kept in a tree map from the epoch day they are due to the ids of the tasks due that day.
+ * Events are kept in a segment tree over epoch days: an event is stored in the few nodes that exactly cover
+ * its days, so the events on a day are the ones stored along the single path from the root to that day.
+ */
+public class DateIndex implements TaskIndex {
+    private static final long MIN_DAY = -(1L << 40);
+    private static final long MAX_DAY = 1L << 40;
+
+    private final TreeMap<Long, PostingList> deadlines = new TreeMap<>();
+    private final Node events = new Node();
+
+    /**
+     * Represents a range of days in the segment tree, which is halved by each of its children.
+     * The range itself is worked out while walking down from the root, and children are only created
+     * once an event needs them.
+     */
+    private static class Node {
+        private final PostingList ids = new PostingList();
+        private Node left;
+        private Node right;
+
+        private boolean isEmpty() {
+            return ids.isEmpty() && left == null && right == null;
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof DeadLine) {
+            long day = ((DeadLine) task).getEndDate().toEpochDay();
+            deadlines.computeIfAbsent(day, key -> new PostingList()).add(task.getId());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            insert(events, MIN_DAY, MAX_DAY, event.getFromDate().toEpochDay(), event.getToDate().toEpochDay(),
+                    task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (task instanceof DeadLine) {
+            long day = ((DeadLine) task).getEndDate().toEpochDay();
+            PostingList ids = deadlines.get(day);
+            if (ids == null) {
+                return;
+            }
+            ids.remove(task.getId());
+            if (ids.isEmpty()) {
+                deadlines.remove(day);
+            }
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            delete(events, MIN_DAY, MAX_DAY, event.getFromDate().toEpochDay(), event.getToDate().toEpochDay(),
+                    task.getId());
+        }
+    }
+
+    @Override
+    public void removeAll(List<Task> tasks, BitSet ids) {
+        HashSet<Long> days = new HashSet<>();
+        HashSet<Node> nodes = new HashSet<>();
+        for (Task task : tasks) {
+            if (task instanceof DeadLine) {
+                days.add(((DeadLine) task).getEndDate().toEpochDay());
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                collect(events, MIN_DAY, MAX_DAY, event.getFromDate().toEpochDay(), event.getToDate().toEpochDay(),
+                        nodes);
+            }
+        }
+        for (long day : days) {
+            PostingList dayIds = deadlines.get(day);
+            if (dayIds == null) {
+                continue;
+            }
+            dayIds.removeAll(ids);
+            if (dayIds.isEmpty()) {
+                deadlines.remove(day);
+            }
+        }
+        if (nodes.isEmpty()) {
+            return;
+        }
+        for (Node node : nodes) {
+            node.ids.removeAll(ids);
+        }
+        for (Task task : tasks) {
+            if (task instanceof Event) {
+                Event event = (Event) task;
+                prune(events, MIN_DAY, MAX_DAY, event.getFromDate().toEpochDay(), event.getToDate().toEpochDay());
+            }
+        }
+    }
+
+    private static void insert(Node node, long lo, long hi, long from, long to, int id) {
+        if (from <= lo && hi - 1 <= to) {
+            node.ids.add(id);
+            return;
+        }
+        long mid = lo + (hi - lo) / 2;
+        if (from < mid) {
+            if (node.left == null) {
+                node.left = new Node();
+            }
+            insert(node.left, lo, mid, from, to, id);
+        }
+        if (to >= mid) {
+            if (node.right == null) {
+                node.right = new Node();
+            }
+            insert(node.right, mid, hi, from, to, id);
+        }
+    }
+
+    private static void delete(Node node, long lo, long hi, long from, long to, int id) {
+        if (from <= lo && hi - 1 <= to) {
+            node.ids.remove(id);
+            return;
+        }
+        long mid = lo + (hi - lo) / 2;
+        if (from < mid && node.left != null) {
+            delete(node.left, lo, mid, from, to, id);
+            if (node.left.isEmpty()) {
+                node.left = null;
+            }
+        }
+        if (to >= mid && node.right != null) {
+            delete(node.right, mid, hi, from, to, id);
+            if (node.right.isEmpty()) {
+                node.right = null;
+            }
+        }
+    }
+
+    /**
+     * Adds the nodes that store an event over the days from and to into the set, without changing them.
+     */
+    private static void collect(Node node, long lo, long hi, long from, long to, HashSet<Node> nodes) {
+        if (from <= lo && hi - 1 <= to) {
+            nodes.add(node);
+            return;
+        }
+        long mid = lo + (hi - lo) / 2;
+        if (from < mid && node.left != null) {
+            collect(node.left, lo, mid, from, to, nodes);
+        }
+        if (to >= mid && node.right != null) {
+            collect(node.right, mid, hi, from, to, nodes);
+        }
+    }
+
+    /**
+     * Drops the empty nodes left along the paths to the nodes that store an event over the days from and to.
+     */
+    private static void prune(Node node, long lo, long hi, long from, long to) {
+        if (from <= lo && hi - 1 <= to) {
+            return;
+        }
+        long mid = lo + (hi - lo) / 2;
+        if (from < mid && node.left != null) {
+            prune(node.left, lo, mid, from, to);
+            if (node.left.isEmpty()) {
+                node.left = null;
+            }
+        }
+        if (to >= mid && node.right != null) {
+            prune(node.right, mid, hi, from, to);
+            if (node.right.isEmpty()) {
+                node.right = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the deadlines due from the first day to the last day, both inclusive,
+     * ordered by the day they are due and then by their order in the list.
+     *
+     * @param firstDay The epoch day of the earliest due date to include.
+     * @param lastDay The epoch day of the latest due date to include.
+     * @return The ids of the deadlines due in the range.
+     */
+    public int[] findDue(long firstDay, long lastDay) {
+        if (firstDay > lastDay) {
+            return new int[0];
+        }
+        Map<Long, PostingList> range = deadlines.subMap(firstDay, true, lastDay, true);
+        int size = 0;
+        for (PostingList ids : range.values()) {
+            size += ids.size();
+        }
+        int[] result = new int[size];
+        int position = 0;
+        for (PostingList ids : range.values()) {
+            int[] dayIds = ids.toArray();
+            System.arraycopy(dayIds, 0, result, position, dayIds.length);
+            position += dayIds.length;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids of the deadlines due on the day and the events happening on the day,
+     * in their order in the list.
+     *
+     * @param day The epoch day to look up.
+     * @return The ids of the tasks on the day.
+     */
+    public int[] findOn(long day) {
+        ArrayList<PostingList> lists = new ArrayList<>();
+        PostingList due = deadlines.get(day);
+        if (due != null) {
+            lists.add(due);
+        }
+        Node node = events;
+        long lo = MIN_DAY;
+        long hi = MAX_DAY;
+        while (node != null) {
+            if (!node.ids.isEmpty()) {
+                lists.add(node.ids);
+            }
+            long mid = lo + (hi - lo) / 2;
+            if (day < mid) {
+                node = node.left;
+                hi = mid;
+            } else {
+                node = node.right;
+                lo = mid;
+            }
+        }
+        return lists.isEmpty() ? new int[0] : PostingList.union(lists);
+    }
+}
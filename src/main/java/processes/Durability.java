@@ -0,0 +1,29 @@
+package processes;
+
+/**
+ * Durability enum that contains how hard the journal tries to get changes onto the disk.
+ * Stronger durability loses fewer changes if the machine crashes, at the cost of slower saves.
+ */
+public enum Durability {
+    /** Forces the journal onto the disk after every batch of changes is written. */
+    SYNC,
+    /** Forces the journal onto the disk at a fixed interval, bounding how much can be lost in a crash. */
+    PERIODIC,
+    /** Leaves the operating system to decide when the journal reaches the disk. */
+    BUFFERED;
+
+    /**
+     * Returns the durability level with the name, regardless of case, e.g. <code>sync</code>.
+     *
+     * @param name The name of the durability level.
+     * @return The durability level, or null if there is none with the name.
+     */
+    public static Durability fromName(String name) {
+        for (Durability durability : values()) {
+            if (durability.name().equalsIgnoreCase(name)) {
+                return durability;
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,8 @@
 package processes;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import exceptions.*;
 import tasks.Task;
@@ -12,162 +13,329 @@ import tasks.Task;
  * Run the main method to start the task tracker
  */
 public class MrTracker {
-    public static final String FILEPATH = "./data/tasks.txt";
-
     public static final String DIRPATH = "./data";
 
+    public static final String FILENAME = "tasks.txt";
+
+    public static final String BINARY_FILENAME = "tasks.bin";
+
+    public static final String JOURNAL_FILENAME = "tasks.journal";
+
+    public static final String FILEPATH = DIRPATH + "/" + FILENAME;
+
+    public static final String BINARY_FILEPATH = DIRPATH + "/" + BINARY_FILENAME;
+
+    public static final String JOURNALPATH = DIRPATH + "/" + JOURNAL_FILENAME;
+
+    public static final long SYNC_INTERVAL_MILLIS = 1000;
+
+    public static final Durability DEFAULT_DURABILITY = Durability.PERIODIC;
+
+    private static final String LIMIT_OPTION = "--limit";
+
+    private static final String UNKNOWN_COMMAND = "I am sorry, but I don't know what that means :-(";
+
     private Ui ui;
     private Storage storage;
-    private Parser parser;
     private TaskList taskList;
+    private CommandRegistry commands;
+    private final Command byeCommand = this::bye;
 
 
     /**
-     * Constructor for the chatbot class. Loads data into memory and creates necessary objects for the program to run.
+     * Constructor for the chatbot class. Creates necessary objects for the program to run.
+     * The saved tasks are not read until <code>load</code> is called, so that it can be done in the background.
      *
      */
     public MrTracker() {
+        this(DIRPATH);
+    }
+
+    /**
+     * Constructor for the chatbot class that keeps the saved tasks in the given directory.
+     *
+     * @param dirPath The directory the saved tasks are kept in.
+     */
+    public MrTracker(String dirPath) {
+        this(dirPath, DEFAULT_DURABILITY);
+    }
+
+    /**
+     * Constructor for the chatbot class that keeps the saved tasks in the given directory, and saves changes
+     * with the given durability. {@link Durability#PERIODIC} forces them onto the disk every
+     * <code>SYNC_INTERVAL_MILLIS</code>.
+     *
+     * @param dirPath The directory the saved tasks are kept in.
+     * @param durability How hard to try to get each change onto the disk.
+     */
+    public MrTracker(String dirPath, Durability durability) {
         this.ui = new Ui();
-        this.storage = new Storage(DIRPATH, FILEPATH);
-        this.parser = new Parser();
+        // the binary snapshot only exists if the user converted their tasks to it
+        String binaryPath = dirPath + "/" + BINARY_FILENAME;
+        String snapshotPath = new File(binaryPath).exists() ? binaryPath : dirPath + "/" + FILENAME;
+        this.storage = new Storage(dirPath, snapshotPath, dirPath + "/" + JOURNAL_FILENAME);
+        storage.setDurability(durability, SYNC_INTERVAL_MILLIS);
         this.taskList = new TaskList();
+        this.commands = new CommandRegistry();
+        registerCommands();
+    }
+
+    private void registerCommands() {
+        commands.register("bye", false, byeCommand, "exit");
+        commands.register("list", true, (StreamingCommand) this::list, "ls");
+        commands.register("mark", true, this::mark);
+        commands.register("unmark", true, this::unMark);
+        commands.register("todo", true, this::addToDo);
+        commands.register("deadline", true, this::addDeadline);
+        commands.register("event", true, this::addEvent);
+        commands.register("delete", true, this::delete, "rm");
+        commands.register("find", true, (StreamingCommand) this::find);
+        commands.register("welcome", false, this::welcome);
+        commands.register("tag", true, this::tag);
+        commands.register("remove tags", true, this::removeTags);
+        commands.register("due", true, (StreamingCommand) this::due);
+        commands.register("on", true, (StreamingCommand) this::on);
+    }
 
-        storage.loadData(taskList.getTasks());
+    /**
+     * Loads the saved tasks into memory. Must be called once, before any command that needs the tasks.
+     * It may run on another thread, as long as no command is run until it returns.
+     */
+    public void load() {
+        ArrayList<Task> loaded = new ArrayList<>();
+        storage.loadData(loaded);
+        taskList.loadTasks(loaded);
     }
 
 
 
+    /**
+     * Blocks until every change made so far has been saved to the disk.
+     * Called before the programme exits, in case the user did not say bye.
+     */
+    public void flush() {
+        storage.flush();
+    }
+
     /**
      * Function that brings all processes together to make chatbot function.
-     * Takes in the user's input and produces the output.
+     * Takes in the user's input and produces the output, saving any change it made.
      *
      * @param input The user input.
      * @return The response by the chatbot.
      */
-
     public String getResponse(String input) {
-        ui.showTaskList(taskList.getTasks());
-        String res = null;
-        PrefixString pref = parser.parseCommand(input);
-
-        if (pref == null) {
-            res = ui.showMessage("I am sorry, but I don't know what that means :-(");
-            return res;
-        }
-
-        switch (pref) {
-        case BYE:
-            res = ui.showGoodbyeMessage();
-            break;
-
-        case LIST:
-            res = ui.showTaskList(taskList.getTasks());
-            break;
-
-        case MARK:
-            try {
-                Task markedTask = taskList.mark(input);
-                res = ui.showMarked(markedTask);
-            } catch (TaskOutOfBoundsError e) {
-                res = ui.showMessage(e.getMessage());
-            } catch (NumberFormatException e) {
-                res = ui.showMessage("Error: Please provide a valid mark command!\n" +
-                        "Usage: mark<space><index>");
-            }
-            break;
-
-        case UNMARK:
-            try {
-                Task unMarkedTask = taskList.unMark(input);
-                res = ui.showUnmarked(unMarkedTask);
-            } catch (TaskOutOfBoundsError e) {
-                res = ui.showMessage(e.getMessage());
-            } catch (NumberFormatException e) {
-                res = ui.showMessage("Error: Please provide a valid unmark command!\n" +
-                        "Usage: unmark<space><index>");
-            }
-            break;
-
-        case TODO:
-            try {
-                Task newToDo = taskList.addToDo(input);
-                res = ui.addedTask(newToDo, taskList.getSize());
-            } catch (InvalidTaskNameException | EmptyTagException | SpaceInTagException e) {
-                res = ui.showMessage(e.getMessage());
-            }
-            break;
-
-        case DEADLINE:
-            try {
-                Task newDeadLine = taskList.addDeadline(input);
-                res = ui.addedTask(newDeadLine, taskList.getSize());
-            } catch (InvalidTaskNameException | InvalidDateException
-                     | EmptyTagException | SpaceInTagException e) {
-                res = ui.showMessage(e.getMessage());
-            }
-            break;
-
-        case EVENT:
-            try {
-                Task newEvent = taskList.addEvent(input);
-                res = ui.addedTask(newEvent, taskList.getSize());
-            } catch (InvalidDateException | InvalidTaskNameException |
-                     EmptyTagException | SpaceInTagException e) {
-                res = ui.showMessage(e.getMessage());
-            }
-            break;
-
-        case DELETE:
-            try {
-                Task deleted = taskList.deleteTask(input);
-                res = ui.deletedTask(deleted, taskList.getSize());
-            } catch (TaskOutOfBoundsError e) {
-                res = ui.showMessage(e.getMessage());
-            } catch (NumberFormatException e) {
-                res = ui.showMessage("Error: Please provide a valid delete command!\n" +
-                        "Usage: delete<space><index>");
-            }
-            break;
-
-        case FIND:
-            ArrayList<Task> output = taskList.find(input);
-            res = ui.showMatchedTasks(output, input);
-            break;
-
-        case WELCOME:
-            res = ui.showWelcomeMessage("MrTracker");
-            break;
-
-        case TAG:
-            try {
-                Task taskToAddTags = taskList.tag(input);
-                res = ui.showTaskTags(taskToAddTags);
-            } catch (TaskOutOfBoundsError | EmptyTagException | SpaceInTagException e) {
-                res = ui.showMessage(e.getMessage());
-            } catch (NumberFormatException e) {
-                res = ui.showMessage("Error: Please provide a valid tag command!\n" +
-                        "Usage: tag<space><tags to add, separated by '#'>");
+        String res = execute(input);
+        commit();
+        return res;
+    }
+
+    /**
+     * Queues the changes made since the last commit to be saved, so they survive the programme exiting.
+     * Several commands can be executed before committing, so that they are saved together in a single write.
+     * Commits from different threads are made one at a time, so the changes are saved in the order they were made.
+     */
+    public synchronized void commit() {
+        if (taskList.isDirty()) {
+            storage.saveChanges(taskList.takeChanges());
+        }
+    }
+
+    /**
+     * Returns whether the input runs the bye command, under any of its names and in any case.
+     * The front ends stop once such an input has been answered.
+     *
+     * @param input The user input.
+     * @return Whether the user asked to exit.
+     */
+    public boolean isExit(String input) {
+        return commands.lookup(input) == byeCommand;
+    }
+
+    /**
+     * Takes in the user's input and produces the output, without saving the changes it made.
+     * The changes are saved by the next call to <code>commit</code>.
+     *
+     * @param input The user input.
+     * @return The response by the chatbot.
+     */
+    public String execute(String input) {
+        String res = commands.dispatch(input);
+        if (res == null) {
+            res = ui.showMessage(UNKNOWN_COMMAND);
+        }
+        return res;
+    }
+
+    /**
+     * Takes in the user's input and writes the output, without saving the changes it made.
+     * Long responses, such as lists of tasks, are written as they are built instead of as a single string.
+     * The changes are saved by the next call to <code>commit</code>.
+     *
+     * @param input The user input.
+     * @param out Where to write the response by the chatbot.
+     * @throws IOException If the response could not be written.
+     */
+    public void execute(String input, Appendable out) throws IOException {
+        if (!commands.dispatch(input, out)) {
+            out.append(ui.showMessage(UNKNOWN_COMMAND));
+        }
+    }
+
+    private String bye(String arguments) {
+        commit();
+        storage.flush();
+        return ui.showGoodbyeMessage();
+    }
+
+    private void list(String arguments, Appendable out) throws IOException {
+        String[] pageAndSize = arguments.trim().split("\\s+");
+        int page = pageAndSize[0].isEmpty() ? 1 : Parser.parseCount(pageAndSize[0]);
+        int pageSize = pageAndSize.length > 1 ? Parser.parseCount(pageAndSize[1]) : Ui.DEFAULT_PAGE_SIZE;
+        if (pageAndSize.length > 2 || page == -1 || pageSize == -1) {
+            out.append(ui.showMessage("Error: Please provide a valid list command!\n" +
+                    "Usage: list[<space><page>[<space><tasks per page>]]"));
+            return;
+        }
+        ui.appendTaskList(out, taskList.getTasks(), page, pageSize);
+    }
+
+    private String welcome(String arguments) {
+        return ui.showWelcomeMessage("MrTracker");
+    }
+
+    private String mark(String arguments) {
+        try {
+            ArrayList<Task> markedTasks = taskList.mark(arguments);
+            return ui.showMarked(markedTasks);
+        } catch (TaskOutOfBoundsError e) {
+            return ui.showMessage(e.getMessage());
+        } catch (NumberFormatException e) {
+            return ui.showMessage("Error: Please provide a valid mark command!\n" +
+                    "Usage: mark<space><indices, e.g. 1,4,9-250>");
+        }
+    }
+
+    private String unMark(String arguments) {
+        try {
+            ArrayList<Task> unMarkedTasks = taskList.unMark(arguments);
+            return ui.showUnmarked(unMarkedTasks);
+        } catch (TaskOutOfBoundsError e) {
+            return ui.showMessage(e.getMessage());
+        } catch (NumberFormatException e) {
+            return ui.showMessage("Error: Please provide a valid unmark command!\n" +
+                    "Usage: unmark<space><indices, e.g. 1,4,9-250>");
+        }
+    }
+
+    private String addToDo(String arguments) {
+        try {
+            Task newToDo = taskList.addToDo(arguments);
+            return ui.addedTask(newToDo, taskList.getSize());
+        } catch (InvalidTaskNameException | EmptyTagException | SpaceInTagException e) {
+            return ui.showMessage(e.getMessage());
+        }
+    }
+
+    private String addDeadline(String arguments) {
+        try {
+            Task newDeadLine = taskList.addDeadline(arguments);
+            return ui.addedTask(newDeadLine, taskList.getSize());
+        } catch (InvalidTaskNameException | InvalidDateException
+                 | EmptyTagException | SpaceInTagException e) {
+            return ui.showMessage(e.getMessage());
+        }
+    }
+
+    private String addEvent(String arguments) {
+        try {
+            Task newEvent = taskList.addEvent(arguments);
+            return ui.addedTask(newEvent, taskList.getSize());
+        } catch (InvalidDateException | InvalidTaskNameException |
+                 EmptyTagException | SpaceInTagException e) {
+            return ui.showMessage(e.getMessage());
+        }
+    }
+
+    private String delete(String arguments) {
+        try {
+            ArrayList<Task> deleted = taskList.deleteTask(arguments);
+            return ui.deletedTask(deleted, taskList.getSize());
+        } catch (TaskOutOfBoundsError e) {
+            return ui.showMessage(e.getMessage());
+        } catch (NumberFormatException e) {
+            return ui.showMessage("Error: Please provide a valid delete command!\n" +
+                    "Usage: delete<space><indices, e.g. 1,4,9-250>");
+        }
+    }
+
+    private void find(String arguments, Appendable out) throws IOException {
+        String prompt = arguments.trim();
+        int limit = Integer.MAX_VALUE;
+        int option = prompt.lastIndexOf(LIMIT_OPTION);
+        if (option != -1 && (option == 0 || Character.isWhitespace(prompt.charAt(option - 1)))) {
+            limit = Parser.parseCount(prompt.substring(option + LIMIT_OPTION.length()));
+            if (limit == -1) {
+                out.append(ui.showMessage("Error: Please provide a valid find command!\n" +
+                        "Usage: find<space><prompt>[<space>--limit<space><most tasks to show>]"));
+                return;
             }
-            break;
-
-        case REMOVETAGS:
-            try {
-                Task taskToAddTags = taskList.removeTags(input);
-                res = ui.showRemoveTaskTags(taskToAddTags);
-            } catch(TaskOutOfBoundsError e) {
-                res = ui.showMessage(e.getMessage());
-            } catch (NumberFormatException e) {
-                res = ui.showMessage("Error: Please provide a valid remove tag command!\n" +
-                        "Usage: remove tags<space><tags to delete, separated by '#', " +
-                        "or nothing here to delete all tags>");
+            prompt = prompt.substring(0, option).trim();
+        }
+
+        try {
+            // one match more than the limit is asked for, to tell whether any were left out
+            ArrayList<Task> output = taskList.find(prompt, limit == Integer.MAX_VALUE ? limit : limit + 1);
+            boolean isLimited = output.size() > limit;
+            if (isLimited) {
+                output.remove(limit);
             }
-            break;
+            ui.appendMatchedTasks(out, output, prompt, isLimited);
+        } catch (EmptyTagException e) {
+            out.append(ui.showMessage(e.getMessage()));
+        }
+    }
 
-        default:
-            res = ui.showMessage("I am sorry, but I don't know what that means :-(");
-            break;
+    private void due(String arguments, Appendable out) throws IOException {
+        try {
+            ArrayList<Task> output = taskList.findDue(arguments);
+            ui.appendDatedTasks(out, output, "due " + arguments.trim());
+        } catch (InvalidDateException e) {
+            out.append(ui.showMessage(e.getMessage()));
+        }
+    }
+
+    private void on(String arguments, Appendable out) throws IOException {
+        try {
+            ArrayList<Task> output = taskList.findOn(arguments);
+            ui.appendDatedTasks(out, output, "on " + arguments.trim());
+        } catch (InvalidDateException e) {
+            out.append(ui.showMessage(e.getMessage()));
+        }
+    }
+
+    private String tag(String arguments) {
+        try {
+            ArrayList<Task> tasksToAddTags = taskList.tag(arguments);
+            return ui.showTaskTags(tasksToAddTags);
+        } catch (TaskOutOfBoundsError | EmptyTagException | SpaceInTagException e) {
+            return ui.showMessage(e.getMessage());
+        } catch (NumberFormatException e) {
+            return ui.showMessage("Error: Please provide a valid tag command!\n" +
+                    "Usage: tag<space><tags to add, separated by '#'>");
+        }
+    }
+
+    private String removeTags(String arguments) {
+        try {
+            ArrayList<Task> tasksToRemoveTags = taskList.removeTags(arguments);
+            return ui.showRemoveTaskTags(tasksToRemoveTags);
+        } catch (TaskOutOfBoundsError e) {
+            return ui.showMessage(e.getMessage());
+        } catch (NumberFormatException e) {
+            return ui.showMessage("Error: Please provide a valid remove tag command!\n" +
+                    "Usage: remove tags<space><tags to delete, separated by '#', " +
+                    "or nothing here to delete all tags>");
         }
-        storage.save(taskList.getTasks());
-        return res;
     }
 }
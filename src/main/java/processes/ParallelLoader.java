@@ -0,0 +1,194 @@
+package processes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import exceptions.BadDataException;
+import tasks.Task;
+
+/**
+ * ParallelLoader class that parses large text snapshots on several cores.
+ * The snapshot is split into byte ranges that end on a newline, each range is decoded and parsed
+ * into tasks in a fork-join pool, and the results are stitched back together in their original order.
+ */
+public class ParallelLoader {
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Represents how a line of the snapshot is turned into a task.
+     */
+    public interface LineParser {
+        Task parse(String line) throws BadDataException;
+    }
+
+    /**
+     * Represents the tasks that were loaded, and the lines that could not be.
+     */
+    public static class Result {
+        private final ArrayList<Task> tasks;
+        private final ArrayList<Integer> skippedLines;
+
+        private Result(ArrayList<Task> tasks, ArrayList<Integer> skippedLines) {
+            this.tasks = tasks;
+            this.skippedLines = skippedLines;
+        }
+
+        /**
+         * Returns the tasks in their original order. A line that could not be parsed is left as null.
+         *
+         * @return The tasks that were loaded.
+         */
+        public ArrayList<Task> getTasks() {
+            return tasks;
+        }
+
+        /**
+         * Returns the 1-based numbers of the non-blank lines that could not be parsed, in ascending order.
+         *
+         * @return The numbers of the lines that were skipped.
+         */
+        public ArrayList<Integer> getSkippedLines() {
+            return skippedLines;
+        }
+    }
+
+    /**
+     * Represents one newline-aligned byte range of the snapshot, and the tasks parsed from it.
+     */
+    private static class Chunk extends RecursiveAction {
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+        private final LineParser parser;
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private final ArrayList<Integer> skippedLines = new ArrayList<>();
+        private int lineCount;
+
+        Chunk(byte[] bytes, int start, int end, LineParser parser) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+            this.parser = parser;
+        }
+
+        @Override
+        protected void compute() {
+            String content = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            int lineStart = 0;
+            while (lineStart < content.length()) {
+                int lineEnd = content.indexOf('\n', lineStart);
+                if (lineEnd == -1) {
+                    lineEnd = content.length();
+                }
+                int trimmedEnd = lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                String line = content.substring(lineStart, trimmedEnd);
+                if (!line.isBlank()) {
+                    try {
+                        tasks.add(parser.parse(line));
+                    } catch (BadDataException | RuntimeException e) {
+                        // keep the place of the line, so that journal records still refer to the right tasks
+                        tasks.add(null);
+                        skippedLines.add(lineCount);
+                    }
+                    lineCount++;
+                }
+                lineStart = lineEnd + 1;
+            }
+        }
+    }
+
+    private ParallelLoader() {
+    }
+
+    /**
+     * Parses the lines in the first end bytes of the snapshot into tasks, using the common fork-join pool.
+     *
+     * @param bytes The bytes of the text snapshot.
+     * @param end The index after the last byte of the lines, before any trailer.
+     * @param parser How each line is parsed into a task.
+     * @return The tasks in their original order, and the lines that were skipped.
+     */
+    public static Result load(byte[] bytes, int end, LineParser parser) {
+        return load(bytes, end, parser, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the lines in the first end bytes of the snapshot into tasks, using the given fork-join pool.
+     *
+     * @param bytes The bytes of the text snapshot.
+     * @param end The index after the last byte of the lines, before any trailer.
+     * @param parser How each line is parsed into a task.
+     * @param pool The pool to parse the chunks in.
+     * @return The tasks in their original order, and the lines that were skipped.
+     */
+    public static Result load(byte[] bytes, int end, LineParser parser, ForkJoinPool pool) {
+        List<Chunk> chunks = split(bytes, end, parser);
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(chunks);
+            }
+        });
+        return collect(chunks);
+    }
+
+    /**
+     * Parses the lines in the first end bytes of the snapshot into tasks on the calling thread.
+     * The result is the same as that of {@link #load(byte[], int, LineParser)}, for snapshots too small to be
+     * worth splitting.
+     *
+     * @param bytes The bytes of the text snapshot.
+     * @param end The index after the last byte of the lines, before any trailer.
+     * @param parser How each line is parsed into a task.
+     * @return The tasks in their original order, and the lines that were skipped.
+     */
+    public static Result loadSequentially(byte[] bytes, int end, LineParser parser) {
+        Chunk chunk = new Chunk(bytes, 0, end, parser);
+        chunk.compute();
+        return collect(List.of(chunk));
+    }
+
+    /**
+     * Stitches the tasks parsed from the chunks back together, numbering the skipped lines across the snapshot.
+     */
+    private static Result collect(List<Chunk> chunks) {
+        int taskCount = 0;
+        for (Chunk chunk : chunks) {
+            taskCount += chunk.tasks.size();
+        }
+        ArrayList<Task> tasks = new ArrayList<>(taskCount);
+        ArrayList<Integer> skippedLines = new ArrayList<>();
+        int linesBefore = 0;
+        for (Chunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+            for (int line : chunk.skippedLines) {
+                skippedLines.add(linesBefore + line + 1);
+            }
+            linesBefore += chunk.lineCount;
+        }
+        return new Result(tasks, skippedLines);
+    }
+
+    /**
+     * Splits the bytes into ranges of roughly CHUNK_SIZE, moving each boundary forward to just after a newline.
+     * As UTF-8 never uses the newline byte inside a multi-byte character, no character is split.
+     */
+    private static List<Chunk> split(byte[] bytes, int end, LineParser parser) {
+        ArrayList<Chunk> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < end) {
+            int boundary = Math.min(start + CHUNK_SIZE, end);
+            while (boundary < end && bytes[boundary - 1] != '\n') {
+                boundary++;
+            }
+            chunks.add(new Chunk(bytes, start, boundary, parser));
+            start = boundary;
+        }
+        return chunks;
+    }
+}
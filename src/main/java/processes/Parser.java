@@ -1,5 +1,10 @@
 package processes;
 
+import java.util.Arrays;
+
+import exceptions.InvalidIndicesException;
+import exceptions.TaskOutOfBoundsError;
+
 /**
  * Parser class receives input from a Ui object and makes sense of it
  * A <code>Parser</code> object outputs useful information from user input
@@ -7,30 +12,197 @@ package processes;
 public class Parser {
 
     /**
-     * Returns the PrefixString enum that matches the input
-     * Receives input, then calls the checkPrefixString method from the PrefixString enum.
+     * Returns whether the command contains an int that can be used as an index to track tasks.
      *
-     * @param input The input string to compare with the PrefixString enum
-     * @return The enum that matches the input string
+     * @param input The input string that may or may not be a valid index.
+     * @return Whether the command has a valid integer index.
      */
-    public PrefixString parseCommand(String input) {
-        return PrefixString.checkPrefixString(input);
+    public boolean checkValidIndex(String input) {
+        int start = skipWhitespace(input, 0);
+        int end = input.length();
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        long number = readNumber(input, start);
+        return number >= 0 && (int) (number >>> 32) == end;
     }
 
+    /**
+     * Returns the positive number in the text, ignoring the whitespace around it, e.g. a page number.
+     *
+     * @param text The text that may or may not be a positive number.
+     * @return The number, or -1 if the text is not a positive number that fits in an int.
+     */
+    public static int parseCount(String text) {
+        int start = skipWhitespace(text, 0);
+        long number = readNumber(text, start);
+        if (number < 0 || skipWhitespace(text, (int) (number >>> 32)) != text.length() || (int) number < 1) {
+            return -1;
+        }
+        return (int) number;
+    }
 
     /**
-     * Returns whether the command contains an int that can be used as an index to track tasks.
+     * Returns the 0-based indices of the tasks selected by the user, in ascending order and without repeats.
+     * The selection is a comma separated list of 1-based indices and inclusive ranges, e.g. <code>1,4,9-250</code>.
      *
-     * @param input The input string that may or may not be a valid index.
-     * @return Whether the command has a valid integer index.
+     * @param selection The selection provided by the user.
+     * @param size The number of tasks in the list.
+     * @return The selected indices.
+     * @throws TaskOutOfBoundsError If an index in the selection is outside of the list.
+     * @throws NumberFormatException If the selection is not a list of indices and ranges.
      */
-    public boolean checkValidIndex(String input) {
-        String trimmed = input.trim();
-        try {
-            Integer.parseInt(trimmed);
-            return true;
-        } catch (NumberFormatException ex) {
-            return false;
+    public static int[] parseIndices(String selection, int size) throws TaskOutOfBoundsError, NumberFormatException {
+        int[] ranges = parseRanges(selection);
+        if (ranges[0] < 1) {
+            throw new TaskOutOfBoundsError(ranges[0]);
+        }
+        if (ranges[ranges.length - 1] > size) {
+            throw new TaskOutOfBoundsError(ranges[ranges.length - 1]);
+        }
+        return expandRanges(ranges, -1);
+    }
+
+    /**
+     * Returns the ranges in a comma separated list of numbers and inclusive ranges, sorted and with
+     * overlapping ranges merged, flattened into pairs of first and last number.
+     *
+     * @param list The list of numbers and ranges, e.g. <code>1,4,9-250</code>.
+     * @return The first and last number of each range, in ascending order.
+     * @throws NumberFormatException If the list is not a list of numbers and ranges.
+     */
+    public static int[] parseRanges(String list) throws NumberFormatException {
+        long[] ranges = readRanges(list);
+        if (ranges == null) {
+            throw new InvalidIndicesException(list);
+        }
+        Arrays.sort(ranges);
+
+        int[] merged = new int[ranges.length * 2];
+        int count = 0;
+        for (long range : ranges) {
+            int first = (int) (range >> 32);
+            int last = (int) range;
+            if (count > 0 && (long) first <= (long) merged[count - 1] + 1) {
+                merged[count - 1] = Math.max(merged[count - 1], last);
+            } else {
+                merged[count++] = first;
+                merged[count++] = last;
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * Reads the ranges in the list in a single pass, without throwing when the list is invalid.
+     * Each range is packed into a long, so that sorting the longs sorts the ranges by their first number.
+     * As with <code>split(",")</code>, commas at the end of the list are ignored.
+     *
+     * @return The packed ranges in the order they are written, or null if the list is invalid.
+     */
+    private static long[] readRanges(String list) {
+        long[] ranges = new long[4];
+        int count = 0;
+        int position = 0;
+        int length = list.length();
+        while (true) {
+            long first = readNumber(list, skipWhitespace(list, position));
+            if (first < 0) {
+                return null;
+            }
+            long last = first;
+            position = skipWhitespace(list, (int) (first >>> 32));
+            if (position < length && list.charAt(position) == '-') {
+                last = readNumber(list, skipWhitespace(list, position + 1));
+                if (last < 0 || (int) last < (int) first) {
+                    return null;
+                }
+                position = skipWhitespace(list, (int) (last >>> 32));
+            }
+
+            if (count == ranges.length) {
+                ranges = Arrays.copyOf(ranges, count * 2);
+            }
+            ranges[count++] = ((long) (int) first << 32) | (last & 0xFFFFFFFFL);
+
+            if (position == length || isOnlyCommas(list, position)) {
+                return Arrays.copyOf(ranges, count);
+            }
+            if (list.charAt(position) != ',') {
+                return null;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Reads the integer starting at the start position, with an optional sign, as <code>Integer.parseInt</code>
+     * would, but without throwing.
+     *
+     * @return The index after the integer in the upper half and the integer in the lower half,
+     *     or -1 if there is no integer at the position or it does not fit in an int.
+     */
+    private static long readNumber(String text, int start) {
+        int position = start;
+        boolean isNegative = false;
+        if (position < text.length() && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+            isNegative = text.charAt(position) == '-';
+            position++;
+        }
+        int digitsStart = position;
+        long value = 0;
+        for (; position < text.length(); position++) {
+            int digit = Character.digit(text.charAt(position), 10);
+            if (digit == -1) {
+                break;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return -1;
+            }
+        }
+        if (position == digitsStart || !isNegative && value > Integer.MAX_VALUE) {
+            return -1;
+        }
+        int number = (int) (isNegative ? -value : value);
+        return ((long) position << 32) | (number & 0xFFFFFFFFL);
+    }
+
+    private static int skipWhitespace(String text, int position) {
+        while (position < text.length() && text.charAt(position) <= ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isOnlyCommas(String text, int position) {
+        for (int i = position; i < text.length(); i++) {
+            if (text.charAt(i) != ',') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns every number in the ranges, shifted by the offset, in ascending order.
+     *
+     * @param ranges The first and last number of each range, as returned by <code>parseRanges</code>.
+     * @param offset The amount to add to every number.
+     * @return The numbers in the ranges.
+     */
+    public static int[] expandRanges(int[] ranges, int offset) {
+        int total = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            total += ranges[i + 1] - ranges[i] + 1;
+        }
+        int[] numbers = new int[total];
+        int count = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (long number = ranges[i]; number <= ranges[i + 1]; number++) {
+                numbers[count++] = (int) number + offset;
+            }
         }
+        return numbers;
     }
 }
@@ -0,0 +1,207 @@
+package processes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * PostingList class that stores a sorted set of task ids compactly, as a growable int array.
+ * As new tasks always get larger ids, adding a new task is an append.
+ *
+ * <p>Removing an id only marks its place as deleted, and the marked ids are skipped when the list is read.
+ * The array is compacted once more than half of it is marked, so a removal does not shift the rest of the array.
+ */
+public class PostingList {
+    private int[] ids = new int[4];
+    private int size;
+    // the places in ids that have been removed but not compacted away yet
+    private final BitSet removedPlaces = new BitSet();
+    private int removedCount;
+
+    public int size() {
+        return size - removedCount;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Adds the id to the posting list, if it is not already in it.
+     *
+     * @param id The id to add.
+     */
+    public void add(int id) {
+        int position = size > 0 && ids[size - 1] >= id ? Arrays.binarySearch(ids, 0, size, id) : -size - 1;
+        if (position >= 0) {
+            if (removedPlaces.get(position)) {
+                removedPlaces.clear(position);
+                removedCount--;
+            }
+            return;
+        }
+        position = -position - 1;
+        if (position < size && removedCount > 0) {
+            // the marked places would have to move along with the ids after them
+            compact();
+            position = -Arrays.binarySearch(ids, 0, size, id) - 1;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    /**
+     * Removes the id from the posting list, if it is in it.
+     *
+     * @param id The id to remove.
+     */
+    public void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0 || removedPlaces.get(position)) {
+            return;
+        }
+        removedPlaces.set(position);
+        removedCount++;
+        if (removedCount * 2 > size) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes every id that is set in the bitset, moving each remaining id at most once.
+     *
+     * @param removed The ids to remove, as set bits.
+     */
+    public void removeAll(BitSet removed) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.get(ids[i]) && !removedPlaces.get(i)) {
+                ids[kept++] = ids[i];
+            }
+        }
+        size = kept;
+        removedPlaces.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Returns a copy of the ids in ascending order.
+     *
+     * @return The ids in the posting list.
+     */
+    public int[] toArray() {
+        int[] result = new int[size()];
+        copyInto(result, 0);
+        return result;
+    }
+
+    /**
+     * Returns the ids in the sorted array that are also in this posting list, in ascending order.
+     * Each id is looked up with a binary search, which is fast when the array is much shorter than the list.
+     *
+     * @param candidates The sorted array of ids to filter.
+     * @return The ids in both the array and this posting list.
+     */
+    public int[] retain(int[] candidates) {
+        int[] result = new int[candidates.length];
+        int count = 0;
+        for (int id : candidates) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && !removedPlaces.get(position)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Copies the ids that have not been removed into the array, starting at the offset.
+     *
+     * @return The number of ids copied.
+     */
+    private int copyInto(int[] destination, int offset) {
+        if (removedCount == 0) {
+            System.arraycopy(ids, 0, destination, offset, size);
+            return size;
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removedPlaces.get(i)) {
+                destination[offset + count++] = ids[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops the removed ids from the array, moving each remaining id at most once.
+     */
+    private void compact() {
+        size = copyInto(ids, 0);
+        removedPlaces.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Returns the ids that are in both sorted arrays, in ascending order.
+     *
+     * @param first The first sorted array of ids.
+     * @param second The second sorted array of ids.
+     * @return The ids in both arrays.
+     */
+    public static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Returns the ids that are in any of the posting lists, in ascending order.
+     *
+     * @param lists The posting lists to combine.
+     * @return The ids in any of the posting lists.
+     */
+    public static int[] union(Iterable<PostingList> lists) {
+        int total = 0;
+        PostingList only = null;
+        int count = 0;
+        for (PostingList list : lists) {
+            total += list.size();
+            only = list;
+            count++;
+        }
+        if (count == 1) {
+            return only.toArray();
+        }
+
+        int[] result = new int[total];
+        int size = 0;
+        for (PostingList list : lists) {
+            size += list.copyInto(result, size);
+        }
+        Arrays.sort(result);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || result[unique - 1] != result[i]) {
+                result[unique++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, unique);
+    }
+}
@@ -1,10 +1,26 @@
 package processes;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import exceptions.BadDataException;
 import tasks.DeadLine;
@@ -13,11 +29,39 @@ import tasks.Task;
 import tasks.ToDo;
 
 /**
- * Storage class that handles logic related to storing users' tasks in a file on their local machine
+ * Storage class that handles logic related to storing users' tasks in a file on their local machine.
+ * In journal mode, each change is appended to a journal file instead of rewriting every task,
+ * and the journal is merged back into the snapshot file in the background once it grows too large.
+ * Journal writes happen on a background writer thread, so saving does not wait for the disk.
+ * A file path ending in <code>.bin</code> stores the snapshot in the format of {@link BinarySnapshot}.
  */
 public class Storage {
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1 << 20;
+
+    // the trailer is fixed width so it can be found without scanning the snapshot
+    private static final String TRAILER_FORMAT = "#CRC32|%08x|%010d\n";
+    private static final int TRAILER_LENGTH = 27;
+
     private String dirPath;
     private String filePath;
+    private String journalPath;
+    private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private int parallelLoadThreshold = ParallelLoader.PARALLEL_THRESHOLD;
+
+    private Durability durability = Durability.BUFFERED;
+    private long syncIntervalMillis;
+
+    private final Object pendingLock = new Object();
+    private final StringBuilder pendingRecords = new StringBuilder();
+    private boolean isDrainScheduled;
+    private ScheduledExecutorService writer;
+    private ScheduledFuture<?> periodicSync;
+
+    // only touched by the writer thread, or before it is started
+    private FileChannel journalChannel;
+    private boolean hasUnsyncedWrites;
+    private ExecutorService compactor;
+    private Future<?> pendingCompaction;
 
     /**
      * Constructor for Storage object.
@@ -27,21 +71,74 @@ public class Storage {
      * @param filePath The path to the file where user inputs are saved.
      */
     public Storage(String dirPath, String filePath) {
+        this(dirPath, filePath, null);
+    }
+
+    /**
+     * Constructor for Storage object in journal mode.
+     * Changes are appended to the journal file, which is replayed on top of the snapshot file when loading.
+     *
+     * @param dirPath The directory path that the file containing the saved user inputs should be in
+     * @param filePath The path to the snapshot file where user inputs are saved.
+     * @param journalPath The path to the journal file where changes since the snapshot are saved.
+     */
+    public Storage(String dirPath, String filePath, String journalPath) {
         this.dirPath = dirPath;
         this.filePath = filePath;
+        this.journalPath = journalPath;
         assert dirPath != null : "dirPath cannot be null";
         assert filePath != null : "filePath cannot be null";
     }
 
+    /**
+     * Sets the size in bytes the journal can grow to before it is merged into the snapshot.
+     *
+     * @param compactionThreshold The journal size in bytes that triggers a compaction.
+     */
+    public void setCompactionThreshold(long compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Sets the size in bytes a text snapshot must reach before its lines are parsed on several cores.
+     *
+     * @param parallelLoadThreshold The snapshot size in bytes that makes loading parallel.
+     */
+    void setParallelLoadThreshold(int parallelLoadThreshold) {
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    /**
+     * Sets how hard the writer thread tries to get journalled changes onto the disk.
+     *
+     * @param durability The durability level to use.
+     * @param syncIntervalMillis How often the journal is forced onto the disk, for {@link Durability#PERIODIC}.
+     */
+    public void setDurability(Durability durability, long syncIntervalMillis) {
+        synchronized (pendingLock) {
+            this.durability = durability;
+            this.syncIntervalMillis = syncIntervalMillis;
+            schedulePeriodicSync();
+        }
+    }
+
     /**
      * Does not return anything. Takes in a tasklist.
      * Goes to the dirPath and filePath locations to retrieve user info.
      * If the file or directory did not previously exist, create them.
-     * If file or directory cannot be created, print reason onto the terminal
+     * If file or directory cannot be created, print reason onto the terminal.
+     * In journal mode, changes in the journal are replayed on top of the snapshot,
+     * after any changes still queued for the writer thread or being compacted have been written.
      *
      * @param taskList The location at which user info is stored for use in the programme
      */
     public void loadData(ArrayList<Task> taskList) {
+        if (isJournalled() && writer != null) {
+            runOnWriter(() -> {
+                drainPendingRecords();
+                awaitCompaction();
+            });
+        }
         try {
             File dir = new File(dirPath);
             if (!dir.exists()) {
@@ -53,6 +150,10 @@ public class Storage {
                 }
             }
 
+            if (isJournalled()) {
+                recoverCompaction();
+            }
+
             File file = new File(filePath);
             if (!file.exists()) {
                 boolean doesFileExists = file.createNewFile();
@@ -62,57 +163,616 @@ public class Storage {
                     System.out.println("Error: The file " + filePath + " could not be "
                             + "created to store your tasks!");
                 }
+            }
 
-                return;
-            }
-
-            Scanner sc = new Scanner(file);
-            while (sc.hasNext()) {
-                String input = sc.nextLine();
-                String type = input.substring(0, 1);
-                assert (type.equals("T") || type.equals("D") || type.equals("E")) : "No such task type " + type;
-                String[] args = input.substring(2).trim().split("\\|");
-
-                Task newTask = null;
-                switch (type) {
-                case "T":
-                    newTask = new ToDo(args);
-                    break;
-                case "D":
-                    newTask = new DeadLine(args);
-                    break;
-                case "E":
-                    newTask = new Event(args);
-                    break;
-                default:
-                    System.out.println("Task of type " + type + " does not exist");
+            boolean isIntact;
+            if (isBinary()) {
+                ArrayList<Task> tasks = new ArrayList<>();
+                try {
+                    // unreadable tasks are left as null placeholders, so journal records still refer to the right tasks
+                    isIntact = BinarySnapshot.read(file.toPath(), tasks);
+                    isIntact &= replayJournals(tasks, Storage::parseTask);
+                } catch (BadDataException e) {
+                    // without the number of tasks in the snapshot, no journal record can be placed
+                    System.out.println(e.getMessage() + ", skipping the changes made since it was saved");
+                    isIntact = false;
                 }
-                taskList.add(newTask);
+                tasks.removeIf(Objects::isNull);
+                taskList.addAll(tasks);
+            } else {
+                byte[] bytes = Files.readAllBytes(file.toPath());
+                int end = findSnapshotEnd(bytes);
+                isIntact = isSnapshotIntact(file.toPath(), bytes, end);
+                // bad lines are left as null placeholders, so journal records still refer to the right tasks
+                ParallelLoader.Result result = end >= parallelLoadThreshold
+                        ? ParallelLoader.load(bytes, end, Storage::parseTask)
+                        : ParallelLoader.loadSequentially(bytes, end, Storage::parseTask);
+                for (int line : result.getSkippedLines()) {
+                    System.out.println(new BadDataException().getMessage() + ", skipping task " + line);
+                    isIntact = false;
+                }
+                ArrayList<Task> tasks = result.getTasks();
+                isIntact &= replayJournals(tasks, Storage::parseTask);
+                tasks.removeIf(Objects::isNull);
+                taskList.addAll(tasks);
+            }
+
+            if (!isIntact) {
+                // rewrite the files so that they match the tasks that could be read
+                save(taskList);
             }
-            sc.close();
         } catch (IOException ex) {
             System.out.println("The file " + filePath + " could not be read from");
-        } catch (BadDataException e) {
-
         }
     }
 
     /**
      * Does not return anything. Saves the user input into the file path specified in the constructor.
+     * In journal mode, the journal is emptied as the snapshot now contains every change.
+     * Blocks until the snapshot has been written.
      *
      * @param taskList The user input to be saved.
      */
-    public void save(ArrayList<Task> taskList) {
-        try {
-            FileWriter file = new FileWriter(filePath);
-            assert new File(filePath).exists() : "File to write to doesn't exist";
-            for (Task item : taskList) {
-                file.write(item.toSave());
-                file.write("\n");
+    public void save(List<Task> taskList) {
+        // the snapshot is encoded now, as the tasks may change before the writer gets to them
+        ByteBuffer snapshot = encodeSnapshot(taskList);
+        if (!isJournalled()) {
+            try {
+                Path temp = Paths.get(filePath + ".tmp");
+                writeSnapshot(temp, snapshot);
+                Files.move(temp, Paths.get(filePath),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                System.out.println("Sorry, your tasks could not be saved");
+            }
+            return;
+        }
+
+        runOnWriter(() -> {
+            drainPendingRecords();
+            awaitCompaction();
+            rotateJournal();
+            commitCompaction(snapshot);
+        });
+    }
+
+    /**
+     * Does not return anything. Queues the given changes to be appended to the journal by the writer thread.
+     * Changes queued while the writer is busy are written together in a single write.
+     * Starts a background compaction if the journal has grown past the compaction threshold.
+     *
+     * @param changes The changes made to the list of tasks since the last call.
+     */
+    public void saveChanges(List<TaskChange> changes) {
+        assert isJournalled() : "saveChanges can only be used in journal mode";
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        synchronized (pendingLock) {
+            for (TaskChange change : changes) {
+                pendingRecords.append(change.toRecord()).append("\n");
+            }
+            if (!isDrainScheduled) {
+                isDrainScheduled = true;
+                getWriter().execute(this::writePendingRecords);
+            }
+        }
+    }
+
+    /**
+     * Blocks until every change queued so far has been written to the journal and forced onto the disk.
+     * Used before the programme exits so that no changes are lost.
+     */
+    public void flush() {
+        if (!isJournalled() || writer == null) {
+            return;
+        }
+        runOnWriter(() -> {
+            drainPendingRecords();
+            forceJournal();
+        });
+    }
+
+    /**
+     * Merges the journal into the snapshot file and empties the journal, blocking until it is done.
+     */
+    public void compact() {
+        runOnWriter(() -> {
+            drainPendingRecords();
+            awaitCompaction();
+            rotateJournal();
+            mergeRotatedJournal();
+        });
+    }
+
+    /**
+     * Represents work on the journal files that must run on the writer thread.
+     */
+    private interface JournalTask {
+        void run() throws IOException;
+    }
+
+    private ScheduledExecutorService getWriter() {
+        synchronized (pendingLock) {
+            if (writer == null) {
+                writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "journal-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                schedulePeriodicSync();
             }
-            file.close();
+            return writer;
+        }
+    }
+
+    private void schedulePeriodicSync() {
+        if (periodicSync != null) {
+            periodicSync.cancel(false);
+            periodicSync = null;
+        }
+        if (writer != null && durability == Durability.PERIODIC) {
+            periodicSync = writer.scheduleWithFixedDelay(() -> {
+                try {
+                    forceJournal();
+                } catch (IOException ex) {
+                    System.out.println("Sorry, your tasks could not be saved");
+                }
+            }, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void runOnWriter(JournalTask task) {
+        try {
+            getWriter().submit(() -> {
+                task.run();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Sorry, your tasks could not be saved");
+        }
+    }
+
+    private void writePendingRecords() {
+        try {
+            drainPendingRecords();
         } catch (IOException ex) {
             System.out.println("Sorry, your tasks could not be saved");
         }
     }
+
+    /**
+     * Writes every queued record to the journal in one write. Only runs on the writer thread.
+     */
+    private void drainPendingRecords() throws IOException {
+        String records;
+        synchronized (pendingLock) {
+            records = pendingRecords.toString();
+            pendingRecords.setLength(0);
+            isDrainScheduled = false;
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+
+        if (journalChannel == null) {
+            journalChannel = FileChannel.open(Paths.get(journalPath),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journalChannel.write(buffer);
+        }
+        hasUnsyncedWrites = true;
+        if (durability == Durability.SYNC) {
+            forceJournal();
+        }
+
+        if (journalChannel.size() >= compactionThreshold && !isCompacting()) {
+            rotateJournal();
+            startCompaction();
+        }
+    }
+
+    private void forceJournal() throws IOException {
+        if (journalChannel != null && hasUnsyncedWrites) {
+            journalChannel.force(false);
+            hasUnsyncedWrites = false;
+        }
+    }
+
+    /**
+     * Blocks until the background compaction, if any, has finished.
+     */
+    private void awaitCompaction() {
+        if (pendingCompaction == null) {
+            return;
+        }
+        try {
+            pendingCompaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Sorry, your tasks could not be compacted");
+        }
+        pendingCompaction = null;
+    }
+
+    private boolean isJournalled() {
+        return journalPath != null;
+    }
+
+    private boolean isBinary() {
+        return filePath.endsWith(".bin");
+    }
+
+    private boolean isCompacting() {
+        return pendingCompaction != null && !pendingCompaction.isDone();
+    }
+
+    private Path rotatedJournal() {
+        return Paths.get(journalPath + ".old");
+    }
+
+    private Path compactedSnapshot() {
+        return Paths.get(filePath + ".compacted");
+    }
+
+    /**
+     * Moves the journal aside so that new changes go to a fresh journal while the old one is merged.
+     * If an older rotated journal has not been merged yet, it is merged first.
+     */
+    private void rotateJournal() throws IOException {
+        Path journal = Paths.get(journalPath);
+        if (Files.exists(rotatedJournal())) {
+            mergeRotatedJournal();
+        }
+        if (journalChannel != null) {
+            forceJournal();
+            journalChannel.close();
+            journalChannel = null;
+        }
+        if (Files.exists(journal)) {
+            Files.move(journal, rotatedJournal(), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private void startCompaction() {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        pendingCompaction = compactor.submit(() -> {
+            mergeRotatedJournal();
+            return null;
+        });
+    }
+
+    /**
+     * Replays the rotated journal on top of the snapshot and commits the result as the new snapshot.
+     * Only touches files, so it is safe to run while new changes are appended to the fresh journal.
+     */
+    private void mergeRotatedJournal() throws IOException {
+        if (!Files.exists(rotatedJournal())) {
+            return;
+        }
+        Path snapshot = Paths.get(filePath);
+        // a corrupted journal is merged up to the first bad record, matching what loadData reads
+        if (isBinary()) {
+            ArrayList<Task> tasks = new ArrayList<>();
+            try {
+                if (Files.exists(snapshot)) {
+                    BinarySnapshot.read(snapshot, tasks);
+                }
+            } catch (BadDataException e) {
+                // the journals are left as they are, to be replayed by the next load, which repairs the snapshot
+                throw new IOException("The snapshot " + filePath + " is damaged", e);
+            }
+            replayJournal(rotatedJournal(), tasks, Storage::parseTask);
+            tasks.removeIf(Objects::isNull);
+            commitCompaction(BinarySnapshot.encode(tasks));
+        } else {
+            ArrayList<String> lines = new ArrayList<>();
+            if (Files.exists(snapshot)) {
+                readSnapshot(snapshot, lines);
+            }
+            replayJournal(rotatedJournal(), lines, line -> line);
+            commitCompaction(encodeText(lines));
+        }
+    }
+
+    /**
+     * Writes the merged snapshot and makes it the current one.
+     * Deleting the rotated journal is the commit point: until then, a crash leaves the old snapshot and
+     * the rotated journal in place, and {@link #recoverCompaction()} discards the half-written snapshot.
+     */
+    private void commitCompaction(ByteBuffer snapshot) throws IOException {
+        Path compacted = compactedSnapshot();
+        writeSnapshot(compacted, snapshot);
+        Files.deleteIfExists(rotatedJournal());
+        Files.move(compacted, Paths.get(filePath),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Finishes or rolls back a compaction that was interrupted by the programme exiting.
+     */
+    private void recoverCompaction() throws IOException {
+        Path compacted = compactedSnapshot();
+        if (!Files.exists(compacted)) {
+            return;
+        }
+        if (Files.exists(rotatedJournal())) {
+            Files.delete(compacted);
+        } else {
+            Files.move(compacted, Paths.get(filePath),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private ByteBuffer encodeSnapshot(List<Task> tasks) {
+        if (isBinary()) {
+            return BinarySnapshot.encode(tasks);
+        }
+        // tasks keep their encoded save format until they change, so only the changed tasks are encoded again
+        byte[][] encoded = new byte[tasks.size()][];
+        int i = 0;
+        for (Task item : tasks) {
+            encoded[i++] = item.toSaveBytes();
+        }
+        return encodeText(encoded);
+    }
+
+    private static ByteBuffer encodeText(List<String> lines) {
+        byte[][] encoded = new byte[lines.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = lines.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        return encodeText(encoded);
+    }
+
+    /**
+     * Returns the text snapshot of the encoded lines, followed by a checksum trailer.
+     * Every line is encoded up front so the whole snapshot fits in one pre-sized buffer,
+     * which goes out in a single write instead of a write per task.
+     */
+    private static ByteBuffer encodeText(byte[][] encoded) {
+        int size = 0;
+        for (byte[] line : encoded) {
+            size += line.length + 1;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size + TRAILER_LENGTH);
+        for (byte[] line : encoded) {
+            buffer.put(line).put((byte) '\n');
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.flip());
+        buffer.limit(buffer.capacity());
+        buffer.put(String.format(TRAILER_FORMAT, checksum.getValue(), encoded.length)
+                .getBytes(StandardCharsets.US_ASCII));
+        return buffer.flip();
+    }
+
+    /**
+     * Writes the snapshot to the given file and forces it onto the disk.
+     */
+    private static void writeSnapshot(Path path, ByteBuffer snapshot) throws IOException {
+        ByteBuffer buffer = snapshot.duplicate();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads the non-blank lines of the snapshot into lines, checking them against the checksum trailer.
+     *
+     * @return Whether the snapshot matched its checksum.
+     */
+    private boolean readSnapshot(Path path, List<String> lines) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        int end = findSnapshotEnd(bytes);
+        boolean isIntact = isSnapshotIntact(path, bytes, end);
+        splitLines(bytes, end, lines);
+        return isIntact;
+    }
+
+    /**
+     * Returns the index of the checksum trailer, or the length of the snapshot if it has no trailer.
+     */
+    private static int findSnapshotEnd(byte[] bytes) {
+        int trailerStart = bytes.length - TRAILER_LENGTH;
+        if (trailerStart >= 0 && bytes[trailerStart] == '#'
+                && (trailerStart == 0 || bytes[trailerStart - 1] == '\n')) {
+            return trailerStart;
+        }
+        return bytes.length;
+    }
+
+    /**
+     * Returns whether the lines of the snapshot match its checksum trailer.
+     * Snapshots written before the trailer was introduced have nothing to check and are trusted.
+     */
+    private static boolean isSnapshotIntact(Path path, byte[] bytes, int end) {
+        if (end == bytes.length) {
+            return true;
+        }
+        String trailer = new String(bytes, end, TRAILER_LENGTH, StandardCharsets.US_ASCII);
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, end);
+        boolean isIntact = trailer.equals(String.format(TRAILER_FORMAT, checksum.getValue(), countLines(bytes, end)));
+        if (!isIntact) {
+            System.out.println("Error: The file " + path + " is corrupted, loading the tasks that can be read");
+        }
+        return isIntact;
+    }
+
+    private static void splitLines(byte[] bytes, int end, List<String> lines) {
+        String content = new String(bytes, 0, end, StandardCharsets.UTF_8);
+        int start = 0;
+        while (start < content.length()) {
+            int lineEnd = content.indexOf('\n', start);
+            if (lineEnd == -1) {
+                lineEnd = content.length();
+            }
+            String line = content.substring(start, lineEnd);
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            if (!line.isBlank()) {
+                lines.add(line);
+            }
+            start = lineEnd + 1;
+        }
+    }
+
+    private static int countLines(byte[] bytes, int end) {
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Represents how the data of a journal record is turned into an item of the snapshot.
+     */
+    private interface RecordDecoder<T> {
+        T decode(String data) throws BadDataException;
+    }
+
+    /**
+     * Applies the rotated journal and then the current journal to the items of the snapshot.
+     * If a compaction was interrupted, it is finished in the background.
+     *
+     * @return Whether every complete record could be applied.
+     */
+    private <T> boolean replayJournals(List<T> items, RecordDecoder<T> decoder) throws IOException {
+        if (!isJournalled()) {
+            return true;
+        }
+        boolean isIntact = replayJournal(rotatedJournal(), items, decoder);
+        isIntact &= replayJournal(Paths.get(journalPath), items, decoder);
+        if (isIntact && Files.exists(rotatedJournal())) {
+            startCompaction();
+        }
+        return isIntact;
+    }
+
+    /**
+     * Applies every complete record in the journal to the items of the snapshot.
+     * A record that was only partially written when the programme exited is ignored.
+     * Replaying stops at the first record that cannot be applied, as the records after it depend on it.
+     *
+     * @return Whether every complete record could be applied.
+     */
+    private <T> boolean replayJournal(Path journal, List<T> items, RecordDecoder<T> decoder) throws IOException {
+        if (!Files.exists(journal)) {
+            return true;
+        }
+        String content = Files.readString(journal, StandardCharsets.UTF_8);
+        int start = 0;
+        int end = content.indexOf('\n');
+        try {
+            while (end != -1) {
+                applyRecord(content.substring(start, end), items, decoder);
+                start = end + 1;
+                end = content.indexOf('\n', start);
+            }
+        } catch (BadDataException e) {
+            System.out.println("Error: The journal " + journal + " is corrupted, ignoring the changes after it");
+            return false;
+        }
+        return true;
+    }
+
+    private <T> void applyRecord(String record, List<T> items, RecordDecoder<T> decoder) throws BadDataException {
+        if (record.length() < 2) {
+            return;
+        }
+        String body = record.substring(2);
+        try {
+            switch (record.charAt(0)) {
+            case 'A':
+                items.add(decoder.decode(body));
+                break;
+            case 'U':
+                int separator = body.indexOf('|');
+                int index = Integer.parseInt(body.substring(0, separator));
+                items.set(index, decoder.decode(body.substring(separator + 1)));
+                break;
+            case 'X':
+                items.remove(Integer.parseInt(body));
+                break;
+            case 'R':
+                removeIndices(items, Parser.parseRanges(body));
+                break;
+            default:
+                System.out.println("Journal record of type " + record.charAt(0) + " does not exist");
+            }
+        //to catch records that refer to tasks that do not exist
+        } catch (RuntimeException e) {
+            throw new BadDataException();
+        }
+    }
+
+    /**
+     * Removes the items in the ranges of indices in a single pass, moving each remaining item at most once.
+     */
+    private static <T> void removeIndices(List<T> items, int[] ranges) {
+        if (ranges[0] < 0 || ranges[ranges.length - 1] >= items.size()) {
+            throw new IndexOutOfBoundsException("Journal record removes tasks that do not exist");
+        }
+        int kept = ranges[0];
+        for (int i = 0; i < ranges.length; i += 2) {
+            int keptEnd = i + 2 < ranges.length ? ranges[i + 2] : items.size();
+            for (int index = ranges[i + 1] + 1; index < keptEnd; index++) {
+                items.set(kept++, items.get(index));
+            }
+        }
+        items.subList(kept, items.size()).clear();
+    }
+
+    /**
+     * Returns the task saved in a line of the text snapshot.
+     *
+     * @param input The line in the save format of a task.
+     * @return The task saved in the line.
+     * @throws BadDataException If the line is not in the save format of any task.
+     */
+    public static Task parseTask(String input) throws BadDataException {
+        if (input.length() < 2) {
+            throw new BadDataException();
+        }
+        String type = input.substring(0, 1);
+        String[] args = input.substring(2).trim().split("\\|");
+
+        Task newTask = null;
+        switch (type) {
+        case "T":
+            newTask = new ToDo(args);
+            break;
+        case "D":
+            newTask = new DeadLine(args);
+            break;
+        case "E":
+            newTask = new Event(args);
+            break;
+        default:
+            throw new BadDataException();
+        }
+        return newTask;
+    }
 }
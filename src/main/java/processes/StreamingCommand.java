@@ -0,0 +1,30 @@
+package processes;
+
+import java.io.IOException;
+
+/**
+ * Represents a command whose response can be long, e.g. a list of tasks.
+ * The response is written out as it is built, instead of being built into a single string first,
+ * so that the headless runners can stream it straight to their output.
+ */
+public interface StreamingCommand extends Command {
+
+    /**
+     * Runs the command and writes the response to show the user as it is built.
+     *
+     * @param arguments Everything the user typed after the name of the command, which may be empty.
+     * @param out Where to write the response.
+     * @throws IOException If the response could not be written.
+     */
+    void write(String arguments, Appendable out) throws IOException;
+
+    @Override
+    default String execute(String arguments) {
+        return Ui.render(out -> write(arguments, out));
+    }
+
+    @Override
+    default void execute(String arguments, Appendable out) throws IOException {
+        write(arguments, out);
+    }
+}
@@ -0,0 +1,85 @@
+package processes;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import tasks.Task;
+
+/**
+ * TagIndex class that maps each tag to a bitset of the ids of the tasks that have it.
+ * Combining bitsets answers AND and OR queries over tags without looking at the tags of every task.
+ */
+public class TagIndex implements TaskIndex {
+    private final HashMap<String, BitSet> tags = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        for (String tag : task.getTags()) {
+            tags.computeIfAbsent(tag, key -> new BitSet()).set(task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (String tag : task.getTags()) {
+            BitSet ids = tags.get(tag);
+            if (ids == null) {
+                continue;
+            }
+            ids.clear(task.getId());
+            if (ids.isEmpty()) {
+                tags.remove(tag);
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(List<Task> tasks, BitSet ids) {
+        HashSet<String> touched = new HashSet<>();
+        for (Task task : tasks) {
+            touched.addAll(task.getTags());
+        }
+        for (String tag : touched) {
+            BitSet tagged = tags.get(tag);
+            if (tagged == null) {
+                continue;
+            }
+            tagged.andNot(ids);
+            if (tagged.isEmpty()) {
+                tags.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks that have every tag in at least one of the groups.
+     * The tags within a group are combined with AND, and the groups are combined with OR.
+     *
+     * @param groups The groups of tags to search for.
+     * @return The ids of the matching tasks, as set bits.
+     */
+    public BitSet find(List<List<String>> groups) {
+        BitSet result = new BitSet();
+        for (List<String> group : groups) {
+            BitSet groupResult = null;
+            for (String tag : group) {
+                BitSet ids = tags.get(tag);
+                if (ids == null) {
+                    groupResult = new BitSet();
+                    break;
+                }
+                if (groupResult == null) {
+                    groupResult = (BitSet) ids.clone();
+                } else {
+                    groupResult.and(ids);
+                }
+            }
+            if (groupResult != null) {
+                result.or(groupResult);
+            }
+        }
+        return result;
+    }
+}
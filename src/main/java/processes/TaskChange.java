@@ -0,0 +1,129 @@
+package processes;
+
+import tasks.Task;
+
+/**
+ * Represents a single mutation made to the list of tasks.
+ * A <code>TaskChange</code> is what gets appended to the journal instead of rewriting every task.
+ */
+public class TaskChange {
+
+    /**
+     * The kinds of mutations that can be made to the list of tasks.
+     */
+    public enum Type {
+        ADD('A'),
+        UPDATE('U'),
+        DELETE('X'),
+        DELETE_ALL('R');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        public char getCode() {
+            return code;
+        }
+    }
+
+    private final Type type;
+    private final int index;
+    private final String data;
+
+    private TaskChange(Type type, int index, String data) {
+        this.type = type;
+        this.index = index;
+        this.data = data;
+    }
+
+    /**
+     * Returns the change that records a task being added to the end of the list.
+     * The save format of the task is captured immediately, so later mutations do not leak into this change.
+     *
+     * @param task The task that was added.
+     * @return The change representing the addition.
+     */
+    public static TaskChange added(Task task) {
+        return new TaskChange(Type.ADD, -1, task.toSave());
+    }
+
+    /**
+     * Returns the change that records a task being modified in place, e.g. marked or tagged.
+     *
+     * @param index The 0-based index of the task that was modified.
+     * @param task The task after the modification.
+     * @return The change representing the update.
+     */
+    public static TaskChange updated(int index, Task task) {
+        return new TaskChange(Type.UPDATE, index, task.toSave());
+    }
+
+    /**
+     * Returns the change that records a task being deleted.
+     *
+     * @param index The 0-based index of the task that was deleted.
+     * @return The change representing the deletion.
+     */
+    public static TaskChange deleted(int index) {
+        return new TaskChange(Type.DELETE, index, null);
+    }
+
+    /**
+     * Returns the change that records several tasks being deleted at once.
+     * The indices are stored as ranges, so deleting a long run of tasks only takes a short record.
+     *
+     * @param indices The 0-based indices of the tasks that were deleted, in ascending order and without repeats.
+     * @return The change representing the deletions.
+     */
+    public static TaskChange deletedAll(int[] indices) {
+        StringBuilder ranges = new StringBuilder();
+        int i = 0;
+        while (i < indices.length) {
+            int last = i;
+            while (last + 1 < indices.length && indices[last + 1] == indices[last] + 1) {
+                last++;
+            }
+            if (ranges.length() > 0) {
+                ranges.append(',');
+            }
+            ranges.append(indices[i]);
+            if (last > i) {
+                ranges.append('-').append(indices[last]);
+            }
+            i = last + 1;
+        }
+        return new TaskChange(Type.DELETE_ALL, -1, ranges.toString());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * Returns the journal record of this change, without the trailing newline.
+     *
+     * @return The journal record.
+     */
+    public String toRecord() {
+        switch (type) {
+        case ADD:
+            return type.getCode() + "|" + data;
+        case UPDATE:
+            return type.getCode() + "|" + index + "|" + data;
+        case DELETE_ALL:
+            return type.getCode() + "|" + data;
+        default:
+            return type.getCode() + "|" + index;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package processes;
+
+import java.util.BitSet;
+import java.util.List;
+
+import tasks.Task;
+
+/**
+ * Represents an index over the tasks in a TaskList, which the TaskList keeps up to date as tasks change.
+ * Tasks are identified in an index by their id, which increases in the order the tasks were added,
+ * so sorting ids gives the order the tasks appear in the list.
+ */
+public interface TaskIndex {
+
+    /**
+     * Adds the task to the index.
+     *
+     * @param task The task that was added, or that is about to be indexed again after changing.
+     */
+    void add(Task task);
+
+    /**
+     * Removes the task from the index.
+     *
+     * @param task The task that was removed, or that is about to change.
+     */
+    void remove(Task task);
+
+    /**
+     * Removes the tasks from the index together, so that each posting list they are in is only compacted once.
+     *
+     * @param tasks The tasks that were removed.
+     * @param ids The ids of the tasks, as set bits.
+     */
+    void removeAll(List<Task> tasks, BitSet ids);
+}
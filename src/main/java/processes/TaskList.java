@@ -1,8 +1,13 @@
 package processes;
 
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -13,6 +18,7 @@ import exceptions.SpaceInTagException;
 import exceptions.TaskOutOfBoundsError;
 import tasks.DeadLine;
 import tasks.Event;
+import tasks.IsoDate;
 import tasks.Task;
 import tasks.ToDo;
 
@@ -22,31 +28,117 @@ import tasks.ToDo;
  * TaskList class stores the state of the programme.
  * It stores user inputs in previous runs of the programme (provided they are loaded in).
  * Contains various methods to manipulate the tasks
+ *
+ * <p>A TaskList can be shared by several threads. Changes are made one at a time under a write lock.
+ * The first read of the list after a change takes an immutable snapshot of it, which listing and saving then
+ * read without locking, so a run of changes with no reads in between takes no snapshot.
+ * Tasks in a snapshot are never changed: marking or tagging a task replaces it in the list with a changed copy.
+ * Searches through the indexes share a read lock, as the indexes are changed in place.
  */
 public class TaskList {
 
-    private final ArrayList<Task> taskList;
+    private final ChunkedList<Task> taskList;
+
+    private final StampedLock lock = new StampedLock();
+
+    // null once the list has changed since the snapshot was taken
+    private volatile List<Task> snapshot;
+
+    private volatile int size;
+
+    private final ArrayList<TaskChange> pendingChanges;
+
+    private final ArrayList<Task> tasksById;
+
+    private final WordIndex wordIndex;
+
+    private final TrigramIndex trigramIndex;
+
+    private final TagIndex tagIndex;
+
+    private final DateIndex dateIndex;
+
+    private final ArrayList<TaskIndex> indexes;
 
 
     /**
      * Constructor for TaskList object.
      * Creates the data structure used to store the user's tasks.
-     * The data structure used is an ArrayList
+     * The data structure used is a ChunkedList, so tasks can be deleted from anywhere without
+     * shifting every task after them.
      *
      */
     public TaskList() {
-        this.taskList = new ArrayList<>();
+        this.taskList = new ChunkedList<>();
+        this.pendingChanges = new ArrayList<>();
+        this.tasksById = new ArrayList<>();
+        this.wordIndex = new WordIndex();
+        this.trigramIndex = new TrigramIndex();
+        this.tagIndex = new TagIndex();
+        this.dateIndex = new DateIndex();
+        this.indexes = new ArrayList<>();
+        indexes.add(wordIndex);
+        indexes.add(trigramIndex);
+        indexes.add(tagIndex);
+        indexes.add(dateIndex);
+        this.snapshot = taskList.snapshot();
     }
 
 
     /**
-     * Getter method that returns the current list of tasks
+     * Getter method that returns the current list of tasks, as an immutable snapshot.
+     * The snapshot does not change when the list is changed afterwards, and its tasks are never changed.
      *
      * @return The current list of tasks
      *
      */
-    public ArrayList<Task> getTasks() {
-        return taskList;
+    public List<Task> getTasks() {
+        List<Task> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        // taking a snapshot marks the chunks of the list as shared, so it cannot overlap a change
+        long stamp = lock.writeLock();
+        try {
+            if (snapshot == null) {
+                snapshot = taskList.snapshot();
+            }
+            return snapshot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    /**
+     * Returns whether the list of tasks has changes that have not been taken yet.
+     *
+     * @return Whether there are changes that have not been saved.
+     */
+    public boolean isDirty() {
+        long stamp = lock.readLock();
+        try {
+            return !pendingChanges.isEmpty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the changes made to the list of tasks since the last call, and clears them.
+     * The changes are in the order they were made, so they can be replayed on top of an older copy of the list.
+     *
+     * @return The changes made since the last call.
+     */
+    public ArrayList<TaskChange> takeChanges() {
+        long stamp = lock.writeLock();
+        try {
+            ArrayList<TaskChange> changes = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            return changes;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
 
@@ -57,29 +149,99 @@ public class TaskList {
      *
      */
     public int getSize() {
-        return taskList.size();
+        return size;
+    }
+
+    /**
+     * Adds tasks that were loaded from storage to the end of the list, without recording them as changes.
+     *
+     * @param tasks The tasks that were loaded.
+     */
+    public void loadTasks(List<Task> tasks) {
+        long stamp = lock.writeLock();
+        try {
+            for (Task task : tasks) {
+                insertTask(task);
+            }
+            markChanged();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records that the list has changed once a change is complete, so the next read takes a new snapshot.
+     * Must be called holding the write lock.
+     */
+    private void markChanged() {
+        snapshot = null;
+        size = taskList.size();
+    }
+
+    /**
+     * Replaces the task at the index with a copy of it, which is returned to be changed.
+     * The task being replaced may be in a snapshot, so it is left as it is.
+     */
+    private Task copyTask(int index) {
+        Task copy = taskList.get(index).copy();
+        taskList.set(index, copy);
+        tasksById.set(copy.getId(), copy);
+        return copy;
+    }
+
+    private void insertTask(Task task) {
+        task.setId(tasksById.size());
+        tasksById.add(task);
+        taskList.add(task);
+        for (TaskIndex index : indexes) {
+            index.add(task);
+        }
+    }
+
+    private Task removeTask(int index) {
+        Task task = taskList.remove(index);
+        tasksById.set(task.getId(), null);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.remove(task);
+        }
+        return task;
+    }
+
+    private void recordChange(TaskChange change) {
+        pendingChanges.add(change);
+    }
+
+    private void addTask(Task task) {
+        long stamp = lock.writeLock();
+        try {
+            insertTask(task);
+            recordChange(TaskChange.added(task));
+            markChanged();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
      * Taking in the user input, create a ToDo class and add it to the current list of tasks.
      *
-     * @param arg The string received from the user.
+     * @param arg The arguments of the command received from the user.
      * @return The ToDo that was created.
      * @throws InvalidTaskNameException If no task name is provided.
      * @throws EmptyTagException If tag provided is empty, usually because it's all whitespace
      * @throws SpaceInTagException If tag provided contains whitespace.
      */
     public Task addToDo(String arg) throws InvalidTaskNameException, EmptyTagException, SpaceInTagException {
-        String input = arg.substring(5).trim();
+        String input = arg.trim();
         ToDo newToDo = new ToDo(input);
-        taskList.add(newToDo);
+        addTask(newToDo);
         return newToDo;
     }
 
     /**
      * Taking in the user input, create a DeadLine object and add it to the current list of tasks.
      *
-     * @param arg The string received from the user.
+     * @param arg The arguments of the command received from the user.
      * @return The DeadLine that was created
      * @throws InvalidTaskNameException If no task name is provided.
      * @throws InvalidDateException If invalid date/no date is provided.
@@ -88,9 +250,9 @@ public class TaskList {
      */
     public Task addDeadline(String arg)
             throws InvalidTaskNameException, InvalidDateException, EmptyTagException, SpaceInTagException {
-        String input = arg.substring(9).trim();
+        String input = arg.trim();
         Task newDeadline = new DeadLine(input);
-        taskList.add(newDeadline);
+        addTask(newDeadline);
         return newDeadline;
     }
 
@@ -98,7 +260,7 @@ public class TaskList {
     /**
      * Taking in the user input, create an Event object and add it to the current list of tasks.
      *
-     * @param arg The string received from the user.
+     * @param arg The arguments of the command received from the user.
      * @return The Event object that was created.
      * @throws InvalidTaskNameException If no task name is provided.
      * @throws InvalidDateException If invalid date/no date is provided.
@@ -107,111 +269,297 @@ public class TaskList {
      */
     public Task addEvent(String arg)
             throws InvalidDateException, InvalidTaskNameException, EmptyTagException, SpaceInTagException {
-        String input = arg.substring(6).trim();
+        String input = arg.trim();
         Task newEvent = new Event(input);
-        taskList.add(newEvent);
+        addTask(newEvent);
         return newEvent;
     }
 
 
 
     /**
-     * Removes the task at the specified index from the current list of tasks.
+     * Removes the tasks at the specified indices from the current list of tasks.
+     * The indices can be a list of indices and ranges, e.g. <code>delete 10-500</code>, which are all removed
+     * in a single pass over the list.
      *
-     * @param command The user's delete command.
-     * @return The task that was deleted.
-     * @throws TaskOutOfBoundsError If the index provided was outside of the taskList bounds.
-     * @throws NumberFormatException If the user command provided does not contain a valid index.
+     * @param indices The indices of the tasks to delete, provided by the user.
+     * @return The tasks that were deleted.
+     * @throws TaskOutOfBoundsError If an index provided was outside of the taskList bounds.
+     * @throws NumberFormatException If the user did not provide valid indices.
      */
-    public Task deleteTask(String command) throws TaskOutOfBoundsError, NumberFormatException {
-        String indexString = command.substring(7).trim();
-        int index = Integer.parseInt(indexString);
-        if (index < 1 || index > taskList.size()) {
-            throw new TaskOutOfBoundsError(index);
+    public ArrayList<Task> deleteTask(String indices) throws TaskOutOfBoundsError, NumberFormatException {
+        long stamp = lock.writeLock();
+        try {
+            int[] selected = Parser.parseIndices(indices, taskList.size());
+            if (selected.length == 1) {
+                ArrayList<Task> deleted = new ArrayList<>();
+                deleted.add(removeTask(selected[0]));
+                recordChange(TaskChange.deleted(selected[0]));
+                markChanged();
+                return deleted;
+            }
+
+            ArrayList<Task> deleted = new ArrayList<>(selected.length);
+            BitSet deletedIds = new BitSet();
+            for (int index : selected) {
+                Task task = taskList.get(index);
+                tasksById.set(task.getId(), null);
+                deletedIds.set(task.getId());
+                deleted.add(task);
+            }
+            // each posting list is compacted once, rather than shifted once for every task in it
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.removeAll(deleted, deletedIds);
+            }
+            taskList.removeIndices(selected);
+            recordChange(TaskChange.deletedAll(selected));
+            markChanged();
+            return deleted;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        index--;
-        Task currTask = taskList.get(index);
-        taskList.remove(index);
-        return currTask;
     }
 
 
     /**
-     * Receives the user's command and decides which task to unmark.
-     * If command is valid, the task at the specified index will be unmarked.
+     * Receives the user's command and decides which tasks to unmark.
+     * If command is valid, the tasks at the specified indices will be unmarked.
      *
-     * @param command The user's command.
-     * @return The task that was unmarked
-     * @throws TaskOutOfBoundsError If index provided is not within taskList.
-     * @throws NumberFormatException If the command that the user provided does not contain the index
-     * of the task to mark at the correct index.
+     * @param indices The indices of the tasks to unmark, provided by the user.
+     * @return The tasks that were unmarked
+     * @throws TaskOutOfBoundsError If an index provided is not within taskList.
+     * @throws NumberFormatException If the user did not provide valid indices.
      */
-    public Task unMark(String command) throws TaskOutOfBoundsError, NumberFormatException {
-        String stringIndex = command.substring(7).trim();
-        int index = Integer.parseInt(stringIndex);
-        if (index < 1 || index > taskList.size()) {
-            throw new TaskOutOfBoundsError(index);
+    public ArrayList<Task> unMark(String indices) throws TaskOutOfBoundsError, NumberFormatException {
+        long stamp = lock.writeLock();
+        try {
+            int[] selected = Parser.parseIndices(indices, taskList.size());
+            ArrayList<Task> unMarked = new ArrayList<>(selected.length);
+            for (int index : selected) {
+                Task curr = copyTask(index);
+                curr.unMark();
+                recordChange(TaskChange.updated(index, curr));
+                unMarked.add(curr);
+            }
+            markChanged();
+            return unMarked;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        Task curr = taskList.get(--index);
-        curr.unMark();
-        return curr;
     }
 
     /**
-     * Receives the user's command and decides which task to mark.
-     * If command is valid, the task at the specified index will be marked.
+     * Receives the user's command and decides which tasks to mark.
+     * If command is valid, the tasks at the specified indices will be marked,
+     * e.g. <code>mark 1,4,9-250</code>.
      *
-     * @param command The user's command.
-     * @return The task that was marked
-     * @throws TaskOutOfBoundsError If index provided is not within taskList.
-     * @throws NumberFormatException If the command that the user provided does not contain the index
-     * of the task to mark at the correct index.
+     * @param indices The indices of the tasks to mark, provided by the user.
+     * @return The tasks that were marked
+     * @throws TaskOutOfBoundsError If an index provided is not within taskList.
+     * @throws NumberFormatException If the user did not provide valid indices.
      */
-    public Task mark(String command) throws TaskOutOfBoundsError, NumberFormatException {
-        String stringIndex = command.substring(5).trim();
-        int index = Integer.parseInt(stringIndex);
-        if (index < 1 || index > taskList.size()) {
-            throw new TaskOutOfBoundsError(index);
+    public ArrayList<Task> mark(String indices) throws TaskOutOfBoundsError, NumberFormatException {
+        long stamp = lock.writeLock();
+        try {
+            int[] selected = Parser.parseIndices(indices, taskList.size());
+            ArrayList<Task> marked = new ArrayList<>(selected.length);
+            for (int index : selected) {
+                Task curr = copyTask(index);
+                curr.mark();
+                recordChange(TaskChange.updated(index, curr));
+                marked.add(curr);
+            }
+            markChanged();
+            return marked;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        Task curr = taskList.get(--index);
-        curr.mark();
-        return curr;
     }
 
-    /**=
-     * Receive the command from the user and extracts the prompt.
+    /**
+     * Receive the prompt from the user.
      * Then, search the current list of tasks for task names that contain the prompt.
+     * The trigram index, or the word index for prompts shorter than a trigram, narrows the search down
+     * to candidates, so not every task needs to be checked.
+     * If the prompt starts with '#', search for tasks by their tags instead.
      * After getting the list of matching tasks, print them out to the terminal
      *
-     * @param command The command provided by the user.
+     * @param input The prompt provided by the user.
      * @return The output array of tasks that contains the prompt in their names.
+     * @throws EmptyTagException If a tag in a tag search is empty.
+     *
+     */
+    public ArrayList<Task> find(String input) throws EmptyTagException {
+        return find(input, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns up to the limit of the first tasks that match the user's search, in the order they are in the list.
+     * The search stops once the limit is reached, so a small limit keeps a broad search cheap.
      *
+     * @param input The search provided by the user.
+     * @param limit The most tasks to return.
+     * @return The first tasks that match the search.
+     * @throws EmptyTagException If a tag in a tag search is empty.
      */
-    public ArrayList<Task> find(String command) {
-        String prompt = command.substring(5).trim();
-        Stream<Task> stream = this.taskList.stream().filter(t -> t.getName().contains(prompt));
+    public ArrayList<Task> find(String input, int limit) throws EmptyTagException {
+        assert limit > 0 : "Limit must be positive";
+        String prompt = input.trim();
+        if (prompt.startsWith("#")) {
+            return findTags(prompt, limit);
+        }
+
+        ArrayList<Task> indexed = search(() -> {
+            int[] candidates = trigramIndex.findCandidates(prompt);
+            if (candidates == null) {
+                candidates = wordIndex.findCandidates(prompt);
+            }
+            if (candidates == null) {
+                return null;
+            }
+            ArrayList<Task> matches = new ArrayList<>();
+            for (int i = 0; i < candidates.length && matches.size() < limit; i++) {
+                Task task = tasksById.get(candidates[i]);
+                if (task.getName().contains(prompt)) {
+                    matches.add(task);
+                }
+            }
+            return matches;
+        });
+        if (indexed != null) {
+            return indexed;
+        }
+
+        // every task is checked, so the search runs on a snapshot instead of holding up changes
+        Stream<Task> stream = getTasks().stream().filter(t -> t.getName().contains(prompt)).limit(limit);
         return stream.collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Returns up to the limit of the first tasks whose tags match the tag search, in the order they are in the list.
+     * Tags separated by whitespace must all be on a task, and groups of tags separated by "or"
+     * are alternatives, e.g. <code>#cs2103 #urgent or #exam</code>.
+     *
+     * @param prompt The tag search provided by the user.
+     * @param limit The most tasks to return.
+     * @return The first tasks that match the tag search.
+     * @throws EmptyTagException If a tag in the tag search is empty.
+     */
+    private ArrayList<Task> findTags(String prompt, int limit) throws EmptyTagException {
+        ArrayList<List<String>> groups = new ArrayList<>();
+        ArrayList<String> group = new ArrayList<>();
+        for (String token : prompt.split("\\s+")) {
+            if (token.equalsIgnoreCase("or")) {
+                groups.add(group);
+                group = new ArrayList<>();
+                continue;
+            }
+            String tag = token.startsWith("#") ? token.substring(1) : token;
+            if (tag.isEmpty()) {
+                throw new EmptyTagException();
+            }
+            group.add(tag);
+        }
+        groups.add(group);
+
+        return search(() -> {
+            BitSet ids = tagIndex.find(groups);
+            ArrayList<Task> matches = new ArrayList<>(Math.min(ids.cardinality(), limit));
+            for (int id = ids.nextSetBit(0); id >= 0 && matches.size() < limit; id = ids.nextSetBit(id + 1)) {
+                matches.add(tasksById.get(id));
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * Returns the deadlines that are due in the range given by the user, ordered by their due dates.
+     * <code>due before DATE</code> gives the deadlines due strictly before the date, and
+     * <code>due between DATE DATE</code> gives the deadlines due from the first date to the second, inclusive.
+     *
+     * @param range The range of dates provided by the user.
+     * @return The deadlines due in the range.
+     * @throws InvalidDateException If the range is not given in either form, or a date is invalid.
+     */
+    public ArrayList<Task> findDue(String range) throws InvalidDateException {
+        String[] args = range.trim().split("\\s+");
+        if (args.length == 2 && args[0].equals("before")) {
+            long day = parseDay(args[1]);
+            return findIds(() -> dateIndex.findDue(Long.MIN_VALUE, day - 1));
+        } else if (args.length == 3 && args[0].equals("between")) {
+            long firstDay = parseDay(args[1]);
+            long lastDay = parseDay(args[2]);
+            if (lastDay < firstDay) {
+                throw new InvalidDateException("Second date is before first date");
+            }
+            return findIds(() -> dateIndex.findDue(firstDay, lastDay));
+        }
+        throw new InvalidDateException("Please provide a valid due command!\n"
+                + "Usage: due before<space><date> or due between<space><date><space><date>");
+    }
 
+    /**
+     * Returns the deadlines due on the date given by the user, and the events that are happening on it,
+     * in the order they are in the list.
+     *
+     * @param date The date provided by the user.
+     * @return The tasks on the date.
+     * @throws InvalidDateException If the date is invalid.
+     */
+    public ArrayList<Task> findOn(String date) throws InvalidDateException {
+        long day = parseDay(date.trim());
+        return findIds(() -> dateIndex.findOn(day));
+    }
 
+    private static long parseDay(String date) throws InvalidDateException {
+        LocalDate day = IsoDate.parse(date);
+        if (day == null) {
+            throw new InvalidDateException("Invalid date format given");
+        }
+        return day.toEpochDay();
+    }
 
+    /**
+     * Runs the search through an index, and returns the tasks with the ids it found.
+     */
+    private ArrayList<Task> findIds(Supplier<int[]> searchIds) {
+        return search(() -> {
+            int[] ids = searchIds.get();
+            ArrayList<Task> tasks = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                tasks.add(tasksById.get(id));
+            }
+            return tasks;
+        });
+    }
 
     /**
-     * Receive the prompt from the user and adds tag to the target task.
+     * Runs the search through the indexes under the read lock, as they are changed in place by writers.
+     */
+    private <T> T search(Supplier<T> search) {
+        long stamp = lock.readLock();
+        try {
+            return search.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Receive the prompt from the user and adds tag to the target tasks.
      *
-     * @param command The command provided by the user.
-     * Contains index of task to tag, as well as the tags to add.
+     * @param arg The arguments of the command provided by the user.
+     * Contains indices of tasks to tag, as well as the tags to add.
      *
-     * @return The target task that the tags were added to
-     * @throws TaskOutOfBoundsError When the index provided by the user is out of bounds.
-     * @throws NumberFormatException When the user did not provide a valid index.
+     * @return The target tasks that the tags were added to
+     * @throws TaskOutOfBoundsError When an index provided by the user is out of bounds.
+     * @throws NumberFormatException When the user did not provide valid indices.
      * @throws EmptyTagException When the tag provided by the user is empty or only contains white space.
      * @throws SpaceInTagException When the tag provided by the user contains white space.
      */
-    public Task tag(String command)
+    public ArrayList<Task> tag(String arg)
             throws TaskOutOfBoundsError, NumberFormatException, EmptyTagException, SpaceInTagException {
-        String[] inputs = command.substring(4).split("#");
+        String[] inputs = arg.split("#");
         ArrayList<String> tags = new ArrayList<>();
         for (int i = 0; i < inputs.length; i++) {
             inputs[i] = inputs[i].trim();
@@ -225,36 +573,57 @@ public class TaskList {
             }
             tags.add(inputs[i]);
         }
-        int index = Integer.parseInt(inputs[0]);
-
-        if (index < 1 || index > taskList.size()) {
-            throw new TaskOutOfBoundsError(index);
+        long stamp = lock.writeLock();
+        try {
+            int[] indices = Parser.parseIndices(inputs[0], taskList.size());
+
+            ArrayList<Task> tasksToAddTags = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                Task taskToAddTags = copyTask(index);
+                tagIndex.remove(taskToAddTags);
+                taskToAddTags.addTags(tags);
+                tagIndex.add(taskToAddTags);
+                recordChange(TaskChange.updated(index, taskToAddTags));
+                tasksToAddTags.add(taskToAddTags);
+            }
+            markChanged();
+            return tasksToAddTags;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        Task taskToAddTags = taskList.get(--index);
-        taskToAddTags.addTags(tags);
-        return taskToAddTags;
     }
 
     /**
-     * Receive the prompt from the user and removes the tags from the target task.
+     * Receive the prompt from the user and removes the tags from the target tasks.
      *
-     * @param command The command provided by the user.
-     * Contains index of task to tag, as well as the tags to remove.
+     * @param arg The arguments of the command provided by the user.
+     * Contains indices of tasks to tag, as well as the tags to remove.
      *
-     * @return The target task that the tags were removed from
+     * @return The target tasks that the tags were removed from
      */
-    public Task removeTags(String command) throws TaskOutOfBoundsError, NumberFormatException {
-        String[] inputs = command.substring(12).split("#");
+    public ArrayList<Task> removeTags(String arg) throws TaskOutOfBoundsError, NumberFormatException {
+        String[] inputs = arg.split("#");
         for (int i = 0; i < inputs.length; i++) {
             inputs[i] = inputs[i].trim();
         }
-        int index = Integer.parseInt(inputs[0]);
-
-        if (index < 1 || index > taskList.size()) {
-            throw new TaskOutOfBoundsError(index);
+        String[] tags = Arrays.copyOfRange(inputs, 1, inputs.length);
+        long stamp = lock.writeLock();
+        try {
+            int[] indices = Parser.parseIndices(inputs[0], taskList.size());
+
+            ArrayList<Task> tasksToRemoveTags = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                Task taskToRemoveTags = copyTask(index);
+                tagIndex.remove(taskToRemoveTags);
+                taskToRemoveTags.removeTags(tags);
+                tagIndex.add(taskToRemoveTags);
+                recordChange(TaskChange.updated(index, taskToRemoveTags));
+                tasksToRemoveTags.add(taskToRemoveTags);
+            }
+            markChanged();
+            return tasksToRemoveTags;
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        Task taskToRemoveTags = taskList.get(--index);
-        taskToRemoveTags.removeTags(Arrays.copyOfRange(inputs, 1, inputs.length));
-        return taskToRemoveTags;
     }
 }
@@ -0,0 +1,98 @@
+package processes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import tasks.Task;
+
+/**
+ * TrigramIndex class that maps every 3 character substring of the task names to the ids of the tasks containing it.
+ * A name can only contain the prompt if it contains every trigram of the prompt, so intersecting their posting
+ * lists gives a small set of candidates to check with <code>String.contains</code>.
+ */
+public class TrigramIndex implements TaskIndex {
+    private final HashMap<Long, PostingList> trigrams = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        for (long trigram : trigramsOf(task.getName())) {
+            trigrams.computeIfAbsent(trigram, key -> new PostingList()).add(task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (long trigram : trigramsOf(task.getName())) {
+            PostingList postings = trigrams.get(trigram);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(task.getId());
+            if (postings.isEmpty()) {
+                trigrams.remove(trigram);
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(List<Task> tasks, BitSet ids) {
+        HashSet<Long> touched = new HashSet<>();
+        for (Task task : tasks) {
+            touched.addAll(trigramsOf(task.getName()));
+        }
+        for (long trigram : touched) {
+            PostingList postings = trigrams.get(trigram);
+            if (postings == null) {
+                continue;
+            }
+            postings.removeAll(ids);
+            if (postings.isEmpty()) {
+                trigrams.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks whose names contain every trigram of the prompt, in ascending order.
+     * Every task whose name contains the prompt is included, but not every task included contains it.
+     *
+     * @param prompt The prompt to search for.
+     * @return The ids of the candidate tasks, or null if the prompt is too short to have a trigram.
+     */
+    public int[] findCandidates(String prompt) {
+        if (prompt.length() < 3) {
+            return null;
+        }
+        ArrayList<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigramsOf(prompt)) {
+            PostingList postings = trigrams.get(trigram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+
+        // start from the rarest trigram so that every later step only filters a few candidates
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        int[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).retain(candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into the low 48 bits of a long.
+     */
+    private static HashSet<Long> trigramsOf(String text) {
+        HashSet<Long> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+}
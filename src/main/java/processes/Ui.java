@@ -1,15 +1,27 @@
 package processes;
 
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.List;
 
 import tasks.Task;
 
 /**
  * The task that deals with user inputs.
  * Formats the input for use in other classes, such as the TaskList class.
+ *
+ * <p>Responses that list many tasks can also be written to an <code>Appendable</code> as they are built,
+ * so the headless runners can stream them without holding the whole response in memory.
  */
 public class Ui {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Represents a response written to an <code>Appendable</code>.
+     */
+    interface Rendering {
+        void renderTo(Appendable out) throws IOException;
+    }
 
     /**
      * Called when the programme just starts.
@@ -34,22 +46,59 @@ public class Ui {
 
 
     /**
-     * Returns the list of tasks on the terminal for the user.
+     * Returns one page of the list of tasks for the user.
      *
      * @param taskList The current list of tasks
-     * @return The string containing the list of tasks
+     * @param page The 1-based number of the page to show.
+     * @param pageSize The number of tasks on each page.
+     * @return The string containing the page of the list of tasks
      */
-    public String showTaskList(ArrayList<Task> taskList) {
-        if (!taskList.isEmpty()) {
-            StringBuilder res = new StringBuilder("Your current tasks are: \n");
-            for (int i = 0; i < taskList.size(); i++) {
-                res.append((i + 1)).append(".").append(taskList.get(i).toString()).append("\n\n");
-            }
-            return res.toString();
-        } else {
-            return "You currently have no tasks!";
+    public String showTaskList(List<Task> taskList, int page, int pageSize) {
+        return render(out -> appendTaskList(out, taskList, page, pageSize));
+    }
+
+    /**
+     * Writes one page of the list of tasks for the user. The tasks are numbered by their position in the
+     * whole list, so the numbers can be used in other commands, and a footer says how to see the next page.
+     *
+     * @param out Where to write the page.
+     * @param taskList The current list of tasks
+     * @param page The 1-based number of the page to show.
+     * @param pageSize The number of tasks on each page.
+     * @throws IOException If the page could not be written.
+     */
+    public void appendTaskList(Appendable out, List<Task> taskList, int page, int pageSize) throws IOException {
+        assert page > 0 && pageSize > 0 : "Page and page size must be positive";
+        if (taskList.isEmpty()) {
+            out.append("You currently have no tasks!");
+            return;
+        }
+        int size = taskList.size();
+        long pageCount = ((long) size + pageSize - 1) / pageSize;
+        if (page > pageCount) {
+            out.append("Error: Page ").append(String.valueOf(page)).append(" does not exist, there ")
+                    .append(pageCount == 1 ? "is only 1 page" : "are only " + pageCount + " pages")
+                    .append(" of ").append(String.valueOf(pageSize)).append(" tasks");
+            return;
         }
 
+        int first = (int) ((long) (page - 1) * pageSize);
+        int last = (int) Math.min(size, (long) first + pageSize);
+        out.append("Your current tasks are: \n");
+        int i = first;
+        for (Task task : taskList.subList(first, last)) {
+            out.append(String.valueOf(++i)).append(".").append(task.toString()).append("\n\n");
+        }
+        if (pageCount > 1) {
+            out.append("Showing tasks ").append(String.valueOf(first + 1)).append("-").append(String.valueOf(last))
+                    .append(" of ").append(String.valueOf(size)).append(".");
+            if (page < pageCount) {
+                out.append(" Type list ").append(String.valueOf(page + 1))
+                        .append(pageSize == DEFAULT_PAGE_SIZE ? "" : " " + pageSize)
+                        .append(" to see the next page.");
+            }
+            out.append("\n");
+        }
     }
 
     /**
@@ -63,28 +112,36 @@ public class Ui {
     }
 
     /**
-     * Takes in the task that was marked and returns the feedback.
-     * Informs the user that the task is successfully marked
+     * Takes in the tasks that were marked and returns the feedback.
+     * Informs the user that the tasks are successfully marked
      *
-     * @param markedTask The task that was just marked.
+     * @param markedTasks The tasks that were just marked.
      * @return The success message
      */
-    public String showMarked(Task markedTask) {
-        assert markedTask != null : "Marked task given is null!";
-        return "Congrats on finishing " + markedTask.getName()
-                + "! It is now marked!";
+    public String showMarked(List<Task> markedTasks) {
+        assert markedTasks != null && !markedTasks.isEmpty() : "Marked tasks given are empty!";
+        if (markedTasks.size() == 1) {
+            return "Congrats on finishing " + markedTasks.get(0).getName()
+                    + "! It is now marked!";
+        }
+        return listTasks(new StringBuilder("Congrats on finishing " + markedTasks.size()
+                + " tasks! They are now marked:\n"), markedTasks);
     }
 
     /**
-     * Takes in the task that was unmarked and returns the feedback.
-     * Informs the user that the task is successfully unmarked
+     * Takes in the tasks that were unmarked and returns the feedback.
+     * Informs the user that the tasks are successfully unmarked
      *
-     * @param unmarkedTask The task that was just unmarked.
+     * @param unmarkedTasks The tasks that were just unmarked.
      * @return The success message
      */
-    public String showUnmarked(Task unmarkedTask) {
-        assert unmarkedTask != null : "Unmarked task given is null!";
-        return "Success, task " + unmarkedTask.getName() + " is now unmarked!";
+    public String showUnmarked(List<Task> unmarkedTasks) {
+        assert unmarkedTasks != null && !unmarkedTasks.isEmpty() : "Unmarked tasks given are empty!";
+        if (unmarkedTasks.size() == 1) {
+            return "Success, task " + unmarkedTasks.get(0).getName() + " is now unmarked!";
+        }
+        return listTasks(new StringBuilder("Success, " + unmarkedTasks.size()
+                + " tasks are now unmarked:\n"), unmarkedTasks);
     }
 
     /**
@@ -101,65 +158,125 @@ public class Ui {
     }
 
     /**
-     * Takes in the task that was just deleted and the current size of taskList.
-     * Informs the user that the task was successfully deleted.
+     * Takes in the tasks that were just deleted and the current size of taskList.
+     * Informs the user that the tasks were successfully deleted.
      *
-     * @param deleted The task that was just deleted.
+     * @param deleted The tasks that were just deleted.
      * @param taskListSize The current size of the taskList
      * @return The success message
      */
-    public String deletedTask(Task deleted, int taskListSize) {
-        assert deleted != null : "Deleted task given is null!";
-        return "The task\n  " + deleted + "\nhas been removed!\nYou now have "
-                + taskListSize + " tasks left.";
+    public String deletedTask(List<Task> deleted, int taskListSize) {
+        assert deleted != null && !deleted.isEmpty() : "Deleted tasks given are empty!";
+        if (deleted.size() == 1) {
+            return "The task\n  " + deleted.get(0) + "\nhas been removed!\nYou now have "
+                    + taskListSize + " tasks left.";
+        }
+        return listTasks(new StringBuilder("These " + deleted.size() + " tasks have been removed:\n"), deleted)
+                + "You now have " + taskListSize + " tasks left.";
     }
 
     /**
-     * Takes in the list of tasks that matched the user's search.
-     * Returns the list of tasks to the user.
+     * Takes in the list of tasks that matched the user's search, and writes it for the user.
      *
+     * @param out Where to write the list of tasks.
      * @param matchList The list of tasks that matched the user's search
-     * @return The success message
+     * @param prompt The user's search
+     * @param isLimited Whether the search stopped at a limit set by the user, so there may be more matches.
+     * @throws IOException If the list could not be written.
      */
-    public String showMatchedTasks(ArrayList<Task> matchList, String command) {
-        String prompt = command.substring(5).trim();
+    public void appendMatchedTasks(Appendable out, List<Task> matchList, String prompt, boolean isLimited)
+            throws IOException {
         assert matchList != null : "List of matched tasks given is null!";
         if (matchList.isEmpty()) {
-            return "There are no tasks in your list that match " + prompt;
+            out.append("There are no tasks in your list that match ").append(prompt);
+            return;
+        }
+        if (isLimited) {
+            out.append("Here are the first ").append(String.valueOf(matchList.size()))
+                    .append(" matching task(s) in your list: \n");
         } else {
-            StringBuilder res = new StringBuilder("Here are the matching task(s) in your list: \n");
-            for (int i = 0; i < matchList.size(); i++) {
-                res.append("    ").append((i + 1)).append(". ").append(matchList.get(i).toString()).append("\n");
-            }
-            return res.toString();
+            out.append("Here are the matching task(s) in your list: \n");
+        }
+        appendNumbered(out, matchList);
+    }
+
+    /**
+     * Takes in the list of tasks on the dates the user asked about, and a description of those dates.
+     * Writes the list of tasks for the user.
+     *
+     * @param out Where to write the list of tasks.
+     * @param datedTasks The list of tasks on the dates.
+     * @param description The description of the dates, e.g. "due before 2024-09-01".
+     * @throws IOException If the list could not be written.
+     */
+    public void appendDatedTasks(Appendable out, List<Task> datedTasks, String description) throws IOException {
+        assert datedTasks != null : "List of dated tasks given is null!";
+        if (datedTasks.isEmpty()) {
+            out.append("There are no tasks in your list ").append(description);
+            return;
         }
+        out.append("Here are the task(s) in your list ").append(description).append(": \n");
+        appendNumbered(out, datedTasks);
     }
 
     /**
-     * Takes in the task that the tags were added to.
+     * Takes in the tasks that the tags were added to.
      * Returns the message to show the user that the tags were added successfully
      *
-     * @param taskToAddTags The task that the tags were added to.
+     * @param tasksToAddTags The tasks that the tags were added to.
      * @return The success message
      */
-    public String showTaskTags(Task taskToAddTags) {
-        return "Tags were successfully added!\nThe task is now:\n   " +
-                taskToAddTags;
+    public String showTaskTags(List<Task> tasksToAddTags) {
+        if (tasksToAddTags.size() == 1) {
+            return "Tags were successfully added!\nThe task is now:\n   " +
+                    tasksToAddTags.get(0);
+        }
+        return listTasks(new StringBuilder("Tags were successfully added!\nThe tasks are now:\n"), tasksToAddTags);
     }
 
     /**
-     * Takes in the task that the tags were removed from.
-     * Prints how the task currently looks like.
+     * Takes in the tasks that the tags were removed from.
+     * Prints how the tasks currently look like.
      * Returns the message to show the user that the tags were removed successfully
      *
-     * @param taskToRemoveTags The task that the tags were removed from.
+     * @param tasksToRemoveTags The tasks that the tags were removed from.
      * @return The success message
      */
-    public String showRemoveTaskTags(Task taskToRemoveTags) {
+    public String showRemoveTaskTags(List<Task> tasksToRemoveTags) {
+        if (tasksToRemoveTags.size() == 1) {
+            return "Tags were successfully deleted!\n The task is now:\n    " +
+                    tasksToRemoveTags.get(0);
+        }
+        return listTasks(new StringBuilder("Tags were successfully deleted!\n The tasks are now:\n"),
+                tasksToRemoveTags);
+    }
 
-        return "Tags were successfully deleted!\n The task is now:\n    " +
-                taskToRemoveTags;
+    private static void appendNumbered(Appendable out, List<Task> tasks) throws IOException {
+        int i = 0;
+        for (Task task : tasks) {
+            out.append("    ").append(String.valueOf(++i)).append(". ").append(task.toString()).append("\n");
+        }
+    }
 
+    /**
+     * Returns the response that the rendering writes, built into a single string.
+     */
+    static String render(Rendering rendering) {
+        StringBuilder res = new StringBuilder();
+        try {
+            rendering.renderTo(res);
+        } catch (IOException e) {
+            throw new AssertionError("Appending to a StringBuilder does not throw", e);
+        }
+        return res.toString();
+    }
+
+    private static String listTasks(StringBuilder res, List<Task> tasks) {
+        int i = 0;
+        for (Task task : tasks) {
+            res.append("    ").append(++i).append(". ").append(task.toString()).append("\n");
+        }
+        return res.toString();
     }
 }
 
@@ -0,0 +1,106 @@
+package processes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import tasks.Task;
+
+/**
+ * WordIndex class that maps each word in the task names to the ids of the tasks containing it.
+ * Words are split on whitespace and normalized to lower case, so the index narrows a search down to
+ * candidates that still have to be checked against the exact prompt.
+ * It answers the prompts too short for the trigram index, which are always a single word.
+ */
+public class WordIndex implements TaskIndex {
+    private final HashMap<String, PostingList> words = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        for (String word : tokenize(task.getName())) {
+            words.computeIfAbsent(word, key -> new PostingList()).add(task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (String word : tokenize(task.getName())) {
+            PostingList postings = words.get(word);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(task.getId());
+            if (postings.isEmpty()) {
+                words.remove(word);
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(List<Task> tasks, BitSet ids) {
+        HashSet<String> touched = new HashSet<>();
+        for (Task task : tasks) {
+            touched.addAll(tokenize(task.getName()));
+        }
+        for (String word : touched) {
+            PostingList postings = words.get(word);
+            if (postings == null) {
+                continue;
+            }
+            postings.removeAll(ids);
+            if (postings.isEmpty()) {
+                words.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks whose names may contain the prompt, in ascending order.
+     * Every task whose name contains the prompt is included, but not every task included contains it.
+     * The prompt may be anywhere inside a word, so the words of every task are checked.
+     *
+     * @param prompt The prompt to search for.
+     * @return The ids of the candidate tasks, or null if the prompt is empty or has several words,
+     *     and every task has to be checked.
+     */
+    public int[] findCandidates(String prompt) {
+        ArrayList<String> tokens = tokenize(prompt);
+        if (tokens.size() != 1) {
+            return null;
+        }
+        ArrayList<PostingList> matches = new ArrayList<>();
+        for (Map.Entry<String, PostingList> entry : words.entrySet()) {
+            if (entry.getKey().contains(tokens.get(0))) {
+                matches.add(entry.getValue());
+            }
+        }
+        return matches.isEmpty() ? new int[0] : PostingList.union(matches);
+    }
+
+    /**
+     * Returns the normalized words of the text. Each character is lower-cased on its own, so that a word
+     * contained in another word is still contained in it after normalizing.
+     */
+    private static ArrayList<String> tokenize(String text) {
+        ArrayList<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (token.length() > 0) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                }
+            } else {
+                token.append(Character.toLowerCase(c));
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+}
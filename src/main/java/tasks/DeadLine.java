@@ -3,8 +3,6 @@ package tasks;
 import static java.lang.Integer.parseInt;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,50 +30,36 @@ public class DeadLine extends Task {
      */
     public DeadLine(String inputString)
             throws InvalidTaskNameException, InvalidDateException, EmptyTagException, SpaceInTagException {
-        inputString = inputString.trim();
+        TaskInputTokenizer tokenizer = new TaskInputTokenizer(inputString);
+        int start = tokenizer.skipWhitespace(0, inputString.length());
+        int end = tokenizer.trimEnd(start, inputString.length());
 
-        if (!inputString.contains("/by ")) {
+        // the space after /by is part of the marker, so the date must start after it
+        int index = tokenizer.getByIndex();
+        if (index == -1 || index + 4 >= end) {
             throw new InvalidDateException();
         }
 
-        int index = inputString.indexOf("/by ");
-
-        String[] nameAndTags = inputString.substring(0, index).split("#");
-        ArrayList<String> newTags = new ArrayList<>();
-        for (int i = 0; i < nameAndTags.length; i++) {
-            nameAndTags[i] = nameAndTags[i].trim();
-
-            //name checking done later
-            if (i == 0) {
-                continue;
-            }
-            if (nameAndTags[i].isEmpty()) {
-                throw new EmptyTagException();
-            }
-            if (nameAndTags[i].contains(" ")) {
-                throw new SpaceInTagException();
-            }
-            newTags.add(nameAndTags[i]);
-        }
-
-        String taskName = nameAndTags[0];
-        if (taskName.isEmpty()) {
-            throw new InvalidTaskNameException();
-        }
-        this.name = taskName;
-
-        String byDate = inputString.substring(index + 4);
-        if (byDate.isEmpty()) {
-            throw new InvalidDateException();
-        }
-        try {
-            this.endDate = LocalDate.parse(byDate);
-        } catch (DateTimeParseException ex) {
+        this.name = tokenizer.readNameAndTags(start, index, tags);
+        this.endDate = tokenizer.readDate(index + 4, end);
+        if (this.endDate == null) {
             throw new InvalidDateException("Invalid date format given");
         }
+    }
 
-        // add tags
-        tags.addAll(newTags);
+    /**
+     * Constructor for a DeadLine task from fields that have already been validated, e.g. by a binary snapshot.
+     *
+     * @param name The name of the task.
+     * @param isDone Whether the task is done.
+     * @param endDate The date the task is due by.
+     * @param tags The tags of the task.
+     */
+    public DeadLine(String name, boolean isDone, LocalDate endDate, List<String> tags) {
+        this.name = name;
+        this.isDone = isDone;
+        this.endDate = endDate;
+        this.tags.addAll(tags);
     }
 
     /**
@@ -119,16 +103,20 @@ public class DeadLine extends Task {
         }
     }
 
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
     /**
-     * Returns the string representation a DeadLine task.
+     * Builds the string representation of a DeadLine task.
      * Contains the type, name and end date of the DeadLine task, as well as whether it is done.
      *
      * @return string representation of the DeadLine task.
      */
     @Override
-    public String toString() {
+    protected String formatDisplay() {
         StringBuilder res = new StringBuilder("[D]");
-        res.append(super.toString());
+        res.append(formatStatusAndName());
         res.append(" (by: ").append(this.endDate.toString()).append(")");
 
         if (!tags.isEmpty()) {
@@ -140,13 +128,13 @@ public class DeadLine extends Task {
     }
 
     /**
-     * Returns the string representation of how a DeadLine task should be saved.
+     * Builds the string representation of how a DeadLine task should be saved.
      * Contains the type, name and end date of the DeadLine task, as well as whether it is done.
      *
      * @return save format of DeadLine task.
      */
     @Override
-    public String toSave() {
+    protected String formatSave() {
         StringBuilder res = new StringBuilder("D|");
         res.append(this.isDone ? "1|" : "0|");
         res.append(this.name);
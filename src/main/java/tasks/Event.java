@@ -3,8 +3,6 @@ package tasks;
 import static java.lang.Integer.parseInt;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,66 +30,59 @@ public class Event extends Task {
      */
     public Event(String inputString)
             throws InvalidTaskNameException, InvalidDateException, EmptyTagException, SpaceInTagException {
-
-        if (!inputString.contains("/from ")) {
+        TaskInputTokenizer tokenizer = new TaskInputTokenizer(inputString);
+        int fromIndex = tokenizer.getFromIndex();
+        int toIndex = tokenizer.getToIndex();
+        if (fromIndex == -1) {
             throw new InvalidDateException("From date is not provided!");
         }
-        if (!inputString.contains("/to ")) {
+        if (toIndex == -1) {
             throw new InvalidDateException("To date is not provided!");
         }
-        int fromIndex = inputString.indexOf("/from ");
-        int toIndex = inputString.indexOf("/to ");
         if (toIndex < fromIndex) {
             throw new InvalidDateException("Wrong date order provided!");
         }
 
-        String[] nameAndTags = inputString.substring(0, fromIndex).split("#");
-        ArrayList<String> newTags = new ArrayList<>();
-        for (int i = 0; i < nameAndTags.length; i++) {
-            nameAndTags[i] = nameAndTags[i].trim();
-            //name checking done later
-            if (i == 0) {
-                continue;
-            }
-            if (nameAndTags[i].isEmpty()) {
-                throw new EmptyTagException();
-            }
-            if (nameAndTags[i].contains(" ")) {
-                throw new SpaceInTagException();
-            }
-            newTags.add(nameAndTags[i]);
-        }
+        this.name = tokenizer.readNameAndTags(0, fromIndex, tags);
 
-        String taskName = nameAndTags[0];
-        if (taskName.isEmpty()) {
-            throw new InvalidTaskNameException();
-        }
-        this.name = taskName;
-
-        String toDate = inputString.substring(toIndex + 4);
-        if (toDate.isEmpty()) {
+        int length = inputString.length();
+        if (toIndex + 4 == length) {
             throw new InvalidDateException("To date not provided");
         }
-        try {
-            this.toDate = LocalDate.parse(toDate.trim());
-        } catch (DateTimeParseException ex) {
+        int toStart = tokenizer.skipWhitespace(toIndex + 4, length);
+        this.toDate = tokenizer.readDate(toStart, tokenizer.trimEnd(toStart, length));
+        if (this.toDate == null) {
             throw new InvalidDateException("Invalid to date format given");
         }
 
-        String fromDate = inputString.substring(fromIndex + 6, toIndex);
-        if (fromDate.isEmpty()) {
+        if (fromIndex + 6 == toIndex) {
             throw new InvalidDateException("From date not provided");
         }
-        try {
-            this.fromDate = LocalDate.parse(fromDate.trim());
-        } catch (DateTimeParseException ex) {
+        int fromStart = tokenizer.skipWhitespace(fromIndex + 6, toIndex);
+        this.fromDate = tokenizer.readDate(fromStart, tokenizer.trimEnd(fromStart, toIndex));
+        if (this.fromDate == null) {
             throw new InvalidDateException("Invalid from date format given");
         }
         if (this.toDate.isBefore(this.fromDate)) {
             throw new InvalidDateException("To date is before from date");
         }
+    }
 
-        tags.addAll(newTags);
+    /**
+     * Constructor for an Event task from fields that have already been validated, e.g. by a binary snapshot.
+     *
+     * @param name The name of the task.
+     * @param isDone Whether the task is done.
+     * @param fromDate The date the event starts.
+     * @param toDate The date the event ends.
+     * @param tags The tags of the task.
+     */
+    public Event(String name, boolean isDone, LocalDate fromDate, LocalDate toDate, List<String> tags) {
+        this.name = name;
+        this.isDone = isDone;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.tags.addAll(tags);
     }
 
     /**
@@ -134,16 +125,24 @@ public class Event extends Task {
         }
     }
 
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
     /**
-     * Returns the string representation an Event task.
+     * Builds the string representation of an Event task.
      * Contains the type, name, from date and to date of the Event task, as well as whether it is done.
      *
      * @return string representation of the Event task.
      */
     @Override
-    public String toString() {
+    protected String formatDisplay() {
         StringBuilder res = new StringBuilder("[E]");
-        res.append(super.toString());
+        res.append(formatStatusAndName());
         res.append(" (from: ");
         res.append(this.fromDate.toString());
         res.append(" to: ");
@@ -159,13 +158,13 @@ public class Event extends Task {
     }
 
     /**
-     * Returns the string representation of how an Event task should be saved.
+     * Builds the string representation of how an Event task should be saved.
      * Contains the type, name, from date and to date of the Event task, as well as whether it is done.
      *
      * @return save format of Event task.
      */
     @Override
-    public String toSave() {
+    protected String formatSave() {
         StringBuilder res = new StringBuilder("E|");
         res.append(this.isDone ? "1|" : "0|");
         res.append(this.name);
@@ -0,0 +1,74 @@
+package tasks;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * IsoDate class that reads dates in the ISO format, e.g. <code>2024-09-20</code>, as accepted by
+ * <code>LocalDate.parse</code>. Invalid dates are reported by returning null rather than by throwing,
+ * so that rejecting a mistyped date costs about as much as reading a valid one.
+ */
+public final class IsoDate {
+
+    private IsoDate() {
+    }
+
+    /**
+     * Returns the date written in the text, or null if it is not a valid date.
+     *
+     * @param text The text of the date.
+     * @return The date, or null if the text is not a valid date.
+     */
+    public static LocalDate parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Returns the date written in the text between start and end, or null if it is not a valid date.
+     * Dates with four digit years are read in place, and the rare dates with signed years, e.g.
+     * <code>+12024-01-01</code>, are left to <code>LocalDate.parse</code>.
+     *
+     * @param text The text containing the date.
+     * @param start The index of the first character of the date.
+     * @param end The index after the last character of the date.
+     * @return The date, or null if the text is not a valid date.
+     */
+    public static LocalDate parse(CharSequence text, int start, int end) {
+        if (start < end && (text.charAt(start) == '+' || text.charAt(start) == '-')) {
+            try {
+                return LocalDate.parse(text.subSequence(start, end));
+            } catch (DateTimeException ex) {
+                return null;
+            }
+        }
+        // without a sign, the year must have exactly four digits
+        if (end - start != 10 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = readDigits(text, start, start + 4);
+        int month = readDigits(text, start + 5, start + 7);
+        int day = readDigits(text, start + 8, start + 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Returns the number written by the ASCII digits between start and end, or -1 if any of them is not a digit.
+     */
+    private static int readDigits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -1,33 +1,107 @@
 package tasks;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents the general form of a task.
  * A <code>Task</code> object minimally has a name and a flag to show if it is done
+ *
+ * <p>The display and save forms of a task are built once and kept until the task is changed,
+ * as listing and saving every task after each command would otherwise rebuild them all.
+ * They are volatile, as a task in a list may be displayed and saved by several threads at once.
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
     protected String name;
     protected boolean isDone = false;
     protected ArrayList<String> tags = new ArrayList<>();
+    private int id = -1;
+    private volatile String display;
+    private volatile String saved;
+    private volatile byte[] savedBytes;
 
     public String getName() {
         return this.name;
     }
 
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    public List<String> getTags() {
+        return Collections.unmodifiableList(tags);
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the id of the task. Ids are given out by the list the task is added to,
+     * in increasing order, so that comparing ids compares the positions of the tasks in the list.
+     *
+     * @param id The id of the task.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns a copy of the task with its own list of tags, so that changing the copy leaves the task as it is.
+     * Lists of tasks change a copy instead of a task that other threads may be reading.
+     *
+     * @return A copy of the task.
+     */
+    public Task copy() {
+        try {
+            Task copy = (Task) super.clone();
+            copy.tags = new ArrayList<>(tags);
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     /**
      * Returns the string representation of how a task should be saved
      *
      * @return save format of task.
      */
-    public abstract String toSave();
+    public String toSave() {
+        if (saved == null) {
+            saved = formatSave();
+        }
+        return saved;
+    }
+
+    /**
+     * Returns the save format of the task encoded in UTF-8, as written to the text snapshot.
+     * The array is shared until the task changes, so it must not be modified.
+     *
+     * @return save format of task in UTF-8.
+     */
+    public byte[] toSaveBytes() {
+        if (savedBytes == null) {
+            savedBytes = toSave().getBytes(StandardCharsets.UTF_8);
+        }
+        return savedBytes;
+    }
+
+    /**
+     * Builds the string representation of how a task should be saved, which is then kept by <code>toSave</code>.
+     *
+     * @return save format of task.
+     */
+    protected abstract String formatSave();
 
     /**
      * Marks the task as done by setting flag to true
      */
     public void mark() {
         this.isDone = true;
+        clearFormats();
     }
 
     /**
@@ -35,8 +109,17 @@ public abstract class Task {
      */
     public void unMark() {
         this.isDone = false;
+        clearFormats();
     }
 
+    /**
+     * Drops the kept display and save forms, so they are built again with the changes to the task.
+     */
+    private void clearFormats() {
+        display = null;
+        saved = null;
+        savedBytes = null;
+    }
 
     /**
      * Returns the string representation a task, including all its relevant information
@@ -45,6 +128,25 @@ public abstract class Task {
      */
     @Override
     public String toString() {
+        if (display == null) {
+            display = formatDisplay();
+        }
+        return display;
+    }
+
+    /**
+     * Builds the string representation of a task, which is then kept by <code>toString</code>.
+     *
+     * @return string representation of a task.
+     */
+    protected abstract String formatDisplay();
+
+    /**
+     * Returns the status and name of the task, which start the string representation of every task.
+     *
+     * @return status and name of the task.
+     */
+    protected String formatStatusAndName() {
         StringBuilder res = new StringBuilder();
         if (this.isDone) {
             res.append("[X] ");
@@ -64,6 +166,7 @@ public abstract class Task {
      */
     public void addTags(ArrayList<String> tagsArr) {
         tags.addAll(tagsArr);
+        clearFormats();
     }
 
     /**
@@ -79,5 +182,6 @@ public abstract class Task {
                 tags.remove(s);
             }
         }
+        clearFormats();
     }
 }
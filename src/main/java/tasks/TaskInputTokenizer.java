@@ -0,0 +1,161 @@
+package tasks;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import exceptions.EmptyTagException;
+import exceptions.InvalidTaskNameException;
+import exceptions.SpaceInTagException;
+
+/**
+ * TaskInputTokenizer class that reads the fields of a task from the arguments typed by the user.
+ * The input is walked once to find the <code>/by</code>, <code>/from</code> and <code>/to</code> markers, and the
+ * name, tags and dates are then read in place by their offsets, so the only strings created are the fields kept
+ * by the task.
+ */
+final class TaskInputTokenizer {
+    private final String input;
+    private int byIndex = -1;
+    private int fromIndex = -1;
+    private int toIndex = -1;
+
+    /**
+     * Constructor for a TaskInputTokenizer, which finds the first occurrence of each marker in the input.
+     *
+     * @param input The arguments typed by the user.
+     */
+    TaskInputTokenizer(String input) {
+        this.input = input;
+        for (int i = input.indexOf('/'); i != -1; i = input.indexOf('/', i + 1)) {
+            if (byIndex == -1 && input.startsWith("by ", i + 1)) {
+                byIndex = i;
+            } else if (fromIndex == -1 && input.startsWith("from ", i + 1)) {
+                fromIndex = i;
+            } else if (toIndex == -1 && input.startsWith("to ", i + 1)) {
+                toIndex = i;
+            }
+            if (byIndex != -1 && fromIndex != -1 && toIndex != -1) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first <code>/by </code> in the input, or -1 if there is none.
+     */
+    int getByIndex() {
+        return byIndex;
+    }
+
+    /**
+     * Returns the index of the first <code>/from </code> in the input, or -1 if there is none.
+     */
+    int getFromIndex() {
+        return fromIndex;
+    }
+
+    /**
+     * Returns the index of the first <code>/to </code> in the input, or -1 if there is none.
+     */
+    int getToIndex() {
+        return toIndex;
+    }
+
+    /**
+     * Returns the index after the leading whitespace from start, up to end.
+     */
+    int skipWhitespace(int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the index after the last character before end that is not whitespace, down to start.
+     */
+    int trimEnd(int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Reads the name and the tags from the input between start and end, laid out as <code>NAME [#TAG]...</code>.
+     * The tags are added to the list as they are read, and are checked before the name, as by
+     * <code>split("#")</code>, which also drops the empty tags at the end, e.g. in <code>read book ##</code>.
+     *
+     * @param start The index of the first character of the name.
+     * @param end The index after the last tag.
+     * @param tags The list to add the tags to.
+     * @return The name, without surrounding whitespace.
+     * @throws InvalidTaskNameException If the name is empty.
+     * @throws EmptyTagException If a tag is empty, usually because it is just whitespace.
+     * @throws SpaceInTagException If a tag contains a space.
+     */
+    String readNameAndTags(int start, int end, List<String> tags)
+            throws InvalidTaskNameException, EmptyTagException, SpaceInTagException {
+        int nameEnd = input.indexOf('#', start);
+        if (nameEnd == -1 || nameEnd >= end) {
+            nameEnd = end;
+        }
+
+        int segmentStart = nameEnd + 1;
+        while (segmentStart <= end) {
+            int segmentEnd = input.indexOf('#', segmentStart);
+            if (segmentEnd == -1 || segmentEnd >= end) {
+                segmentEnd = end;
+            }
+            int tagStart = skipWhitespace(segmentStart, segmentEnd);
+            int tagEnd = trimEnd(tagStart, segmentEnd);
+            if (tagStart == tagEnd) {
+                if (segmentStart == segmentEnd && isOnlyHashes(segmentEnd, end)) {
+                    break;
+                }
+                throw new EmptyTagException();
+            }
+            if (containsSpace(tagStart, tagEnd)) {
+                throw new SpaceInTagException();
+            }
+            tags.add(input.substring(tagStart, tagEnd));
+            segmentStart = segmentEnd + 1;
+        }
+
+        int nameStart = skipWhitespace(start, nameEnd);
+        nameEnd = trimEnd(nameStart, nameEnd);
+        if (nameStart == nameEnd) {
+            throw new InvalidTaskNameException();
+        }
+        return input.substring(nameStart, nameEnd);
+    }
+
+    private boolean containsSpace(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOnlyHashes(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) != '#') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a date in the ISO format, e.g. <code>2024-09-20</code>, from the input between start and end.
+     *
+     * @param start The index of the first character of the date.
+     * @param end The index after the last character of the date.
+     * @return The date, or null if the text is not a valid date.
+     */
+    LocalDate readDate(int start, int end) {
+        return IsoDate.parse(input, start, end);
+    }
+}
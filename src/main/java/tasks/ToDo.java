@@ -7,7 +7,6 @@ import exceptions.EmptyTagException;
 import exceptions.InvalidTaskNameException;
 import exceptions.SpaceInTagException;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,34 +26,21 @@ public class ToDo extends Task {
      * @throws SpaceInTagException If the provided tag contains whitespace.
      */
     public ToDo(String inputStr) throws InvalidTaskNameException , EmptyTagException, SpaceInTagException {
-        String[] args = inputStr.split("#");
-        ArrayList<String> newTags = new ArrayList<>();
-
-        for (int i = 0; i < args.length; i++) {
-            args[i] = args[i].trim();
-            // name checking is done later, this is for checking tags
-            if (i == 0) {
-                continue;
-            }
-
-            if (args[i].isEmpty()) {
-                throw new EmptyTagException();
-            } else if (args[i].contains(" ")) {
-                throw new SpaceInTagException();
-            }
-
-            //if tags are valid, add them to tags arraylist
-            newTags.add(args[i]);
-        }
+        TaskInputTokenizer tokenizer = new TaskInputTokenizer(inputStr);
+        this.name = tokenizer.readNameAndTags(0, inputStr.length(), tags);
+    }
 
-        String name = args[0];
-        if (name.isEmpty()) {
-            throw new InvalidTaskNameException();
-        }
+    /**
+     * Constructor for a ToDo task from fields that have already been validated, e.g. by a binary snapshot.
+     *
+     * @param name The name of the task.
+     * @param isDone Whether the task is done.
+     * @param tags The tags of the task.
+     */
+    public ToDo(String name, boolean isDone, List<String> tags) {
         this.name = name;
-
-        // adding tags
-        tags.addAll(newTags);
+        this.isDone = isDone;
+        this.tags.addAll(tags);
     }
 
     /**
@@ -99,15 +85,15 @@ public class ToDo extends Task {
 
 
     /**
-     * Returns the string representation a ToDo task.
+     * Builds the string representation of a ToDo task.
      * Contains the type and name of the ToDo task, as well as whether it is done.
      *
      * @return string representation of the ToDo task.
      */
     @Override
-    public String toString() {
+    protected String formatDisplay() {
         StringBuilder res = new StringBuilder("[T]");
-        res.append(super.toString());
+        res.append(formatStatusAndName());
 
         if (!tags.isEmpty()) {
             res.append("\n   Tags: ");
@@ -117,13 +103,13 @@ public class ToDo extends Task {
     }
 
     /**
-     * Returns the string representation of how a ToDo task should be saved.
+     * Builds the string representation of how a ToDo task should be saved.
      * Contains the type and name of the ToDo task, as well as whether it is done.
      *
      * @return save format of ToDo task.
      */
     @Override
-    public String toSave() {
+    protected String formatSave() {
         StringBuilder res = new StringBuilder("T|");
         res.append(this.isDone ? "1|" : "0|");
         res.append(this.name);
@@ -0,0 +1,55 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import processes.MrTracker;
+
+
+public class BatchRunnerTest {
+    private MrTracker tracker;
+
+    @BeforeEach
+    public void setUp() {
+        tracker = new MrTracker("testBatchDir");
+        tracker.load();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        File[] files = new File("testBatchDir").listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        new File("testBatchDir").delete();
+    }
+
+    private int run(String commands, StringWriter out) throws Exception {
+        return new BatchRunner(tracker, 10).run(new BufferedReader(new StringReader(commands)), out);
+    }
+
+    @Test
+    public void run_exitAlias_stopsRunning() throws Exception {
+        StringWriter out = new StringWriter();
+        assertEquals(2, run("todo read book\nexit\ntodo never added\n", out));
+        assertFalse(out.toString().contains("never added"));
+    }
+
+    @Test
+    public void run_byeInUpperCase_stopsRunning() throws Exception {
+        StringWriter out = new StringWriter();
+        assertEquals(2, run("todo read book\n  BYE  \nlist\n", out));
+        assertFalse(out.toString().contains("Your current tasks"));
+    }
+}
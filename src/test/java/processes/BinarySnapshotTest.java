@@ -0,0 +1,97 @@
+package processes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import exceptions.BadDataException;
+import tasks.DeadLine;
+import tasks.Event;
+import tasks.Task;
+import tasks.ToDo;
+
+
+public class BinarySnapshotTest {
+    private Path path;
+    private ArrayList<Task> taskList;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Files.createDirectories(Paths.get("testDir"));
+        path = Paths.get("testDir/testTasks.bin");
+        taskList = new ArrayList<>();
+        taskList.add(new ToDo("Task 1 #shared #todo"));
+        taskList.add(new DeadLine("Task 2 #shared /by 2024-08-30"));
+        taskList.add(new Event("Task 3 /from 2024-08-30 /to 2024-10-01"));
+        taskList.get(1).mark();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        new File("testDir/testTasks.bin").delete();
+        new File("testDir").delete();
+    }
+
+    private void write(ByteBuffer snapshot) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.write(snapshot);
+        }
+    }
+
+    @Test
+    public void encodeAndRead_tasksRoundTrip_success() throws Exception {
+        write(BinarySnapshot.encode(taskList));
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        assertTrue(BinarySnapshot.read(path, loaded));
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            assertEquals(taskList.get(i).toSave(), loaded.get(i).toSave());
+        }
+    }
+
+    @Test
+    public void read_corruptedBody_notIntact() throws Exception {
+        ByteBuffer snapshot = BinarySnapshot.encode(taskList);
+        snapshot.put(snapshot.limit() - 1, (byte) 'x');
+        write(snapshot);
+
+        assertFalse(BinarySnapshot.read(path, new ArrayList<>()));
+    }
+
+    @Test
+    public void read_truncatedBody_unreadTasksLeftAsNull() throws Exception {
+        ByteBuffer snapshot = BinarySnapshot.encode(taskList);
+        write(snapshot.limit(snapshot.limit() - 4));
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        assertFalse(BinarySnapshot.read(path, loaded));
+        assertEquals(3, loaded.size());
+        assertEquals(taskList.get(1).toSave(), loaded.get(1).toSave());
+        assertNull(loaded.get(2));
+    }
+
+    @Test
+    public void read_corruptedHeader_exceptionThrown() throws Exception {
+        ByteBuffer snapshot = BinarySnapshot.encode(taskList);
+        snapshot.putInt(8, Integer.MAX_VALUE);
+        write(snapshot);
+
+        assertThrows(BadDataException.class, () -> BinarySnapshot.read(path, new ArrayList<>()));
+    }
+}
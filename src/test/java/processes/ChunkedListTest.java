@@ -0,0 +1,125 @@
+package processes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+
+public class ChunkedListTest {
+
+    @Test
+    public void randomInsertsAndRemoves_sameAsArrayList() {
+        ArrayList<Integer> expected = new ArrayList<>();
+        ChunkedList<Integer> actual = new ChunkedList<>();
+        Random random = new Random(2103);
+        for (int i = 0; i < 20000; i++) {
+            expected.add(i);
+            actual.add(i);
+        }
+        for (int i = 0; i < 40000; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            }
+        }
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        assertEquals(expected, new ArrayList<>(actual));
+    }
+
+    @Test
+    public void removeFromFront_emptiesList() {
+        ChunkedList<Integer> list = new ChunkedList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(Integer.valueOf(i), list.remove(0));
+        }
+        assertEquals(0, list.size());
+        list.add(7);
+        assertEquals(Integer.valueOf(7), list.get(0));
+    }
+
+    @Test
+    public void removeIndices_scatteredAndRuns_sameAsArrayList() {
+        ArrayList<Integer> expected = new ArrayList<>();
+        ChunkedList<Integer> actual = new ChunkedList<>();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(i);
+            actual.add(i);
+        }
+        Random random = new Random(2103);
+        ArrayList<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            if (i >= 1000 && i < 3000 || random.nextInt(10) == 0) {
+                indices.add(i);
+            }
+        }
+        for (int i = indices.size() - 1; i >= 0; i--) {
+            expected.remove((int) indices.get(i));
+        }
+        actual.removeIndices(indices.stream().mapToInt(Integer::intValue).toArray());
+        assertEquals(expected, new ArrayList<>(actual));
+        for (int i = 0; i < expected.size(); i += 7) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void snapshot_listChangedAfterwards_snapshotUnchanged() {
+        ArrayList<Integer> expected = new ArrayList<>();
+        ChunkedList<Integer> actual = new ChunkedList<>();
+        Random random = new Random(2103);
+        ArrayList<List<Integer>> snapshots = new ArrayList<>();
+        ArrayList<ArrayList<Integer>> copies = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            expected.add(i);
+            actual.add(i);
+        }
+        for (int i = 0; i < 6000; i++) {
+            if (i % 500 == 0) {
+                snapshots.add(actual.snapshot());
+                copies.add(new ArrayList<>(expected));
+            }
+            int operation = random.nextInt(4);
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -i);
+                actual.set(index, -i);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int first = random.nextInt(expected.size());
+                int last = Math.min(expected.size(), first + random.nextInt(600));
+                expected.subList(first, last).clear();
+                actual.removeIndices(IntStream.range(first, last).toArray());
+            }
+        }
+        assertEquals(expected, new ArrayList<>(actual));
+        for (int i = 0; i < snapshots.size(); i++) {
+            List<Integer> snapshot = snapshots.get(i);
+            assertEquals(copies.get(i), new ArrayList<>(snapshot));
+            for (int j = 0; j < snapshot.size(); j += 7) {
+                assertEquals(copies.get(i).get(j), snapshot.get(j));
+            }
+        }
+    }
+}
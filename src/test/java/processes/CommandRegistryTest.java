@@ -0,0 +1,62 @@
+package processes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+public class CommandRegistryTest {
+    private CommandRegistry commands;
+
+    @BeforeEach
+    public void setUp() {
+        commands = new CommandRegistry();
+        commands.register("list", false, arguments -> "list", "ls");
+        commands.register("delete", true, arguments -> "delete:" + arguments, "rm");
+        commands.register("remove", true, arguments -> "remove:" + arguments);
+        commands.register("remove tags", true, arguments -> "remove tags:" + arguments);
+        commands.register("find", true, (StreamingCommand) (arguments, out) -> out.append("find:").append(arguments));
+    }
+
+    @Test
+    public void dispatch_nameOrAliasInAnyCase_runsCommand() {
+        assertEquals("list", commands.dispatch("list"));
+        assertEquals("list", commands.dispatch("  LS  "));
+        assertEquals("delete: 1-3", commands.dispatch("Delete 1-3"));
+        assertEquals("delete: 2", commands.dispatch("rm 2"));
+    }
+
+    @Test
+    public void dispatch_severalNamesMatch_longestNameUsed() {
+        assertEquals("remove tags: 1 #urgent", commands.dispatch("remove tags 1 #urgent"));
+        assertEquals("remove: tagsx", commands.dispatch("remove tagsx"));
+    }
+
+    @Test
+    public void dispatch_toAppendable_writesResponse() throws Exception {
+        StringBuilder out = new StringBuilder();
+        assertTrue(commands.dispatch("find book", out));
+        assertTrue(commands.dispatch("ls", out));
+        assertFalse(commands.dispatch("ls 2", out));
+        assertEquals("find: booklist", out.toString());
+        assertEquals("find: book", commands.dispatch("find book"));
+    }
+
+    @Test
+    public void lookup_aliasInAnyCase_sameCommandAsName() {
+        assertEquals(commands.lookup("delete 1"), commands.lookup("RM 2"));
+        assertNull(commands.lookup("ls 2"));
+    }
+
+    @Test
+    public void dispatch_unknownOrUnexpectedArguments_returnsNull() {
+        assertNull(commands.dispatch("lists"));
+        assertNull(commands.dispatch("list 2"));
+        assertNull(commands.dispatch("deletes 1"));
+        assertNull(commands.dispatch("   "));
+    }
+}
@@ -1,10 +1,15 @@
 package processes;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import exceptions.TaskOutOfBoundsError;
+
 
 public class ParserTest {
     @Test
@@ -12,6 +17,7 @@ public class ParserTest {
         Parser pc = new Parser();
         assertTrue(pc.checkValidIndex("5 "));
         assertTrue(pc.checkValidIndex("  57 "));
+        assertTrue(pc.checkValidIndex("-2147483648"));
     }
 
     @Test
@@ -19,5 +25,31 @@ public class ParserTest {
         Parser pc = new Parser();
         assertFalse(pc.checkValidIndex("helloWorld"));
         assertFalse(pc.checkValidIndex("test 57 test"));
+        assertFalse(pc.checkValidIndex("2147483648"));
+        assertFalse(pc.checkValidIndex(" - "));
+    }
+
+    @Test
+    public void parseRanges_unorderedAndOverlapping_mergedInOrder() {
+        assertArrayEquals(new int[] {1, 1, 4, 6, 9, 12}, Parser.parseRanges(" 9 - 12,4-5, 1,5 -6,,"));
+    }
+
+    @Test
+    public void parseRanges_invalidList_exceptionThrown() {
+        assertThrows(NumberFormatException.class, () -> Parser.parseRanges(""));
+        assertThrows(NumberFormatException.class, () -> Parser.parseRanges(","));
+        assertThrows(NumberFormatException.class, () -> Parser.parseRanges("1,,2"));
+        assertThrows(NumberFormatException.class, () -> Parser.parseRanges("3-1"));
+        assertThrows(NumberFormatException.class, () -> Parser.parseRanges("1-2-3"));
+    }
+
+    @Test
+    public void parseIndices_rejected_noStackTrace() {
+        NumberFormatException invalid = assertThrows(NumberFormatException.class,
+                () -> Parser.parseIndices("one", 5));
+        assertEquals(0, invalid.getStackTrace().length);
+        TaskOutOfBoundsError outOfBounds = assertThrows(TaskOutOfBoundsError.class,
+                () -> Parser.parseIndices("2-6", 5));
+        assertEquals(0, outOfBounds.getStackTrace().length);
     }
 }
@@ -0,0 +1,68 @@
+package processes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+
+public class PostingListTest {
+
+    private static int[] toArray(TreeSet<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void randomAddsAndRemoves_sameAsTreeSet() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        PostingList actual = new PostingList();
+        Random random = new Random(2103);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.add(id);
+                actual.add(id);
+            } else {
+                expected.remove(id);
+                actual.remove(id);
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertArrayEquals(toArray(expected), actual.toArray());
+        int[] everyId = new int[500];
+        for (int id = 0; id < everyId.length; id++) {
+            everyId[id] = id;
+        }
+        assertArrayEquals(toArray(expected), actual.retain(everyId));
+    }
+
+    @Test
+    public void removedIds_skippedWhenRead() {
+        PostingList list = new PostingList();
+        PostingList other = new PostingList();
+        for (int id = 0; id < 10; id++) {
+            list.add(id);
+        }
+        other.add(3);
+        other.add(11);
+        list.remove(3);
+        list.remove(5);
+
+        assertEquals(8, list.size());
+        assertArrayEquals(new int[] {0, 1, 2, 4, 6, 7, 8, 9}, list.toArray());
+        assertArrayEquals(new int[] {4, 6}, list.retain(new int[] {3, 4, 5, 6}));
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 6, 7, 8, 9, 11}, PostingList.union(List.of(list, other)));
+
+        list.add(5);
+        BitSet removed = new BitSet();
+        removed.set(0);
+        removed.set(9);
+        list.removeAll(removed);
+        assertArrayEquals(new int[] {1, 2, 4, 5, 6, 7, 8}, list.toArray());
+    }
+}
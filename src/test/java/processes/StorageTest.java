@@ -1,10 +1,16 @@
 package processes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,9 +36,11 @@ public class StorageTest {
 
     @AfterEach
     public void tearDown() {
-        File file = new File("testDir/testTasks.txt");
-        if (file.exists()) {
-            file.delete();
+        File[] files = new File("testDir").listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
         }
         File dir = new File("testDir");
         if (dir.exists()) {
@@ -71,4 +79,138 @@ public class StorageTest {
                 + " (from: " + start.toString() + " to: " + end.toString() + ")",
                 taskList.get(2).toString());
     }
+
+    @Test
+    public void testSaveChangesAndLoadData_journalReplayed() throws Exception {
+        Storage journalled = new Storage("testDir", "testDir/testTasks.txt", "testDir/testTasks.journal");
+        journalled.loadData(taskList);
+        TaskList tasks = new TaskList();
+        tasks.addToDo("Task 1");
+        tasks.addDeadline("Task 2 /by 2024-08-30");
+        tasks.mark("2");
+        tasks.deleteTask("1");
+        journalled.saveChanges(tasks.takeChanges());
+
+        taskList.clear();
+        journalled.loadData(taskList);
+        assertEquals(1, taskList.size());
+        assertEquals("[D][X] Task 2 (by: 2024-08-30)", taskList.get(0).toString());
+    }
+
+    @Test
+    public void testSaveChangesAndLoadData_rangeDeleteReplayed() throws Exception {
+        Storage journalled = new Storage("testDir", "testDir/testTasks.txt", "testDir/testTasks.journal");
+        journalled.loadData(taskList);
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= 10; i++) {
+            tasks.addToDo("Task " + i);
+        }
+        tasks.deleteTask("2-4,7,9");
+        journalled.saveChanges(tasks.takeChanges());
+
+        taskList.clear();
+        journalled.loadData(taskList);
+        assertEquals(5, taskList.size());
+        assertEquals("[T][ ] Task 1", taskList.get(0).toString());
+        assertEquals("[T][ ] Task 5", taskList.get(1).toString());
+        assertEquals("[T][ ] Task 10", taskList.get(4).toString());
+    }
+
+    @Test
+    public void testCompact_journalMergedIntoSnapshot() throws Exception {
+        Storage journalled = new Storage("testDir", "testDir/testTasks.txt", "testDir/testTasks.journal");
+        journalled.loadData(taskList);
+        TaskList tasks = new TaskList();
+        tasks.addToDo("Task 1");
+        tasks.addToDo("Task 2");
+        journalled.saveChanges(tasks.takeChanges());
+        journalled.compact();
+
+        assertFalse(new File("testDir/testTasks.journal").exists());
+        taskList.clear();
+        storage.loadData(taskList);
+        assertEquals(2, taskList.size());
+        assertEquals("[T][ ] Task 2", taskList.get(1).toString());
+    }
+
+    @Test
+    public void testLoadData_corruptedTask_remainingTasksLoaded() throws Exception {
+        storage.loadData(taskList);
+        taskList.add(new ToDo("Task 1"));
+        taskList.add(new ToDo("Task 2"));
+        storage.save(taskList);
+
+        Path file = Paths.get("testDir/testTasks.txt");
+        Files.writeString(file, Files.readString(file).replace("T|0|Task 1", "Q|0|Task 1"));
+
+        taskList.clear();
+        storage.loadData(taskList);
+        assertEquals(1, taskList.size());
+        assertEquals("[T][ ] Task 2", taskList.get(0).toString());
+    }
+
+    @Test
+    public void testLoadData_corruptedTaskWithJournal_sameTasksLoadedInParallel() throws Exception {
+        Storage journalled = new Storage("testDir", "testDir/testTasks.txt", "testDir/testTasks.journal");
+        journalled.setParallelLoadThreshold(Integer.MAX_VALUE);
+        writeCorruptedSnapshotWithJournal(journalled);
+        ArrayList<Task> sequential = new ArrayList<>();
+        journalled.loadData(sequential);
+
+        journalled.setParallelLoadThreshold(0);
+        writeCorruptedSnapshotWithJournal(journalled);
+        ArrayList<Task> parallel = new ArrayList<>();
+        journalled.loadData(parallel);
+
+        assertEquals(2, sequential.size());
+        assertEquals("[T][X] Task 1", sequential.get(0).toString());
+        assertEquals("[T][ ] Task 3", sequential.get(1).toString());
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+
+    /**
+     * Saves three tasks, journals marking the first and deleting the second, then corrupts the saved first task.
+     */
+    private void writeCorruptedSnapshotWithJournal(Storage journalled) throws Exception {
+        journalled.loadData(taskList);
+        TaskList tasks = new TaskList();
+        tasks.addToDo("Task 1");
+        tasks.addToDo("Task 2");
+        tasks.addToDo("Task 3");
+        tasks.takeChanges();
+        journalled.save(List.of(new ToDo("Task 1"), new ToDo("Task 2"), new ToDo("Task 3")));
+        tasks.mark("1");
+        tasks.deleteTask("2");
+        journalled.saveChanges(tasks.takeChanges());
+        journalled.flush();
+
+        Path file = Paths.get("testDir/testTasks.txt");
+        Files.writeString(file, Files.readString(file).replace("T|0|Task 1", "Q|0|Task 1"));
+    }
+
+    @Test
+    public void testLoadData_truncatedBinarySnapshotWithJournal_changesAppliedToRightTasks() throws Exception {
+        Storage journalled = new Storage("testDir", "testDir/testTasks.bin", "testDir/testTasks.journal");
+        journalled.loadData(taskList);
+        TaskList tasks = new TaskList();
+        tasks.addToDo("Task 1");
+        tasks.addToDo("Task 2");
+        tasks.addToDo("Task 3");
+        tasks.takeChanges();
+        journalled.save(List.of(new ToDo("Task 1"), new ToDo("Task 2"), new ToDo("Task 3")));
+        tasks.mark("3");
+        tasks.deleteTask("1");
+        journalled.saveChanges(tasks.takeChanges());
+        journalled.flush();
+
+        Path file = Paths.get("testDir/testTasks.bin");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        taskList.clear();
+        journalled.loadData(taskList);
+        assertEquals(2, taskList.size());
+        assertEquals("[T][ ] Task 2", taskList.get(0).toString());
+        assertEquals("[T][X] Task 3", taskList.get(1).toString());
+    }
 }
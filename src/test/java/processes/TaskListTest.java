@@ -0,0 +1,262 @@
+package processes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import exceptions.TaskOutOfBoundsError;
+import tasks.Task;
+
+
+public class TaskListTest {
+    private TaskList taskList;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        taskList = new TaskList();
+        taskList.addToDo("read CS2103T textbook");
+        taskList.addToDo("Reading week plans");
+        taskList.addDeadline("submit CS2103T ip /by 2024-09-20");
+        taskList.addEvent("book club /from 2024-09-01 /to 2024-09-02");
+    }
+
+    private ArrayList<String> findNames(String prompt) throws Exception {
+        ArrayList<String> names = new ArrayList<>();
+        for (Task task : taskList.find(prompt)) {
+            names.add(task.getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void find_partOfWord_matchesSubstring() throws Exception {
+        ArrayList<String> expected = new ArrayList<>();
+        expected.add("read CS2103T textbook");
+        expected.add("book club");
+        assertEquals(expected, findNames("ook"));
+    }
+
+    @Test
+    public void find_severalWords_matchesExactPhraseInOrder() throws Exception {
+        ArrayList<String> expected = new ArrayList<>();
+        expected.add("read CS2103T textbook");
+        expected.add("submit CS2103T ip");
+        assertEquals(expected, findNames("2103T "));
+        expected.remove(1);
+        assertEquals(expected, findNames("ad CS2103T text"));
+    }
+
+    @Test
+    public void find_caseDiffers_noMatch() throws Exception {
+        assertEquals(new ArrayList<String>(), findNames("READ"));
+    }
+
+    @Test
+    public void find_deletedTask_notMatched() throws Exception {
+        taskList.deleteTask("1");
+        ArrayList<String> expected = new ArrayList<>();
+        expected.add("submit CS2103T ip");
+        assertEquals(expected, findNames("CS2103T"));
+    }
+
+    @Test
+    public void find_tags_matchesAllTagsInAnyGroup() throws Exception {
+        taskList.tag("1 #cs2103 #urgent");
+        taskList.tag("3 #cs2103");
+        taskList.tag("4 #leisure");
+        ArrayList<String> expected = new ArrayList<>();
+        expected.add("read CS2103T textbook");
+        assertEquals(expected, findNames("#cs2103 #urgent"));
+        expected.add("book club");
+        assertEquals(expected, findNames("#urgent #cs2103 or #leisure"));
+
+        taskList.removeTags("1 #urgent");
+        expected.remove(0);
+        assertEquals(expected, findNames("#cs2103 #urgent OR #leisure"));
+    }
+
+    @Test
+    public void find_limit_firstMatchesInListOrder() throws Exception {
+        taskList.tag("1 #cs2103");
+        taskList.tag("3 #cs2103");
+        ArrayList<Task> matches = taskList.find("ook", 1);
+        assertEquals(1, matches.size());
+        assertEquals("read CS2103T textbook", matches.get(0).getName());
+        assertEquals(1, taskList.find("#cs2103", 1).size());
+        assertEquals(2, taskList.find("#cs2103", 5).size());
+    }
+
+    @Test
+    public void findDue_range_deadlinesInDateOrder() throws Exception {
+        taskList.addDeadline("pay rent /by 2024-09-01");
+        taskList.addDeadline("renew pass /by 2024-10-01");
+        ArrayList<Task> due = taskList.findDue("before 2024-09-20");
+        assertEquals(1, due.size());
+        assertEquals("pay rent", due.get(0).getName());
+
+        due = taskList.findDue("between 2024-09-01 2024-09-20");
+        assertEquals(2, due.size());
+        assertEquals("pay rent", due.get(0).getName());
+        assertEquals("submit CS2103T ip", due.get(1).getName());
+    }
+
+    @Test
+    public void findOn_date_deadlinesAndEventsOnDate() throws Exception {
+        taskList.addDeadline("pay rent /by 2024-09-02");
+        taskList.addEvent("recess week /from 2024-08-25 /to 2024-09-10");
+        ArrayList<Task> on = taskList.findOn("2024-09-02");
+        assertEquals(3, on.size());
+        assertEquals("book club", on.get(0).getName());
+        assertEquals("pay rent", on.get(1).getName());
+        assertEquals("recess week", on.get(2).getName());
+
+        taskList.deleteTask("4");
+        assertEquals(1, taskList.findOn("2024-08-25").size());
+        assertEquals(2, taskList.findOn("2024-09-02").size());
+        assertEquals(0, taskList.findOn("2024-09-11").size());
+    }
+
+    @Test
+    public void markAndDelete_rangesAndLists_appliedToEveryTask() throws Exception {
+        for (int i = 5; i <= 300; i++) {
+            taskList.addToDo("task " + i);
+        }
+        assertEquals(244, taskList.mark("1,4,9-250").size());
+        assertTrue(taskList.getTasks().get(3).isDone());
+        assertFalse(taskList.getTasks().get(4).isDone());
+        assertTrue(taskList.getTasks().get(249).isDone());
+        assertFalse(taskList.getTasks().get(250).isDone());
+
+        ArrayList<Task> deleted = taskList.deleteTask("10-250, 2");
+        assertEquals(242, deleted.size());
+        assertEquals(58, taskList.getSize());
+        assertEquals("task 9", taskList.getTasks().get(7).getName());
+        assertEquals("task 251", taskList.getTasks().get(8).getName());
+        assertEquals(new ArrayList<String>(), findNames("task 10"));
+    }
+
+    @Test
+    public void deleteTask_rangeOfEveryKind_removedFromEveryIndex() throws Exception {
+        taskList.tag("1 #cs2103");
+        taskList.tag("3 #cs2103");
+        taskList.addDeadline("pay rent /by 2024-09-20");
+        taskList.addEvent("recess week /from 2024-08-25 /to 2024-09-10");
+        taskList.deleteTask("1,3-4");
+
+        ArrayList<String> expected = new ArrayList<>();
+        expected.add("Reading week plans");
+        expected.add("recess week");
+        assertEquals(expected, findNames("week"));
+        assertEquals(new ArrayList<String>(), findNames("CS2103T"));
+        assertEquals(new ArrayList<String>(), findNames("#cs2103"));
+        assertEquals(1, taskList.findDue("before 2024-09-21").size());
+        assertEquals("recess week", taskList.findOn("2024-09-01").get(0).getName());
+        assertEquals(1, taskList.findOn("2024-09-01").size());
+    }
+
+    @Test
+    public void mark_indexOutOfRange_nothingMarked() {
+        assertThrows(TaskOutOfBoundsError.class, () -> taskList.mark("1-5"));
+        assertThrows(NumberFormatException.class, () -> taskList.mark("3-1"));
+        assertFalse(taskList.getTasks().get(0).isDone());
+    }
+
+    @Test
+    public void getTasks_listChangedAfterwards_snapshotAndTasksUnchanged() throws Exception {
+        List<Task> before = taskList.getTasks();
+        Task first = before.get(0);
+        taskList.mark("1");
+        taskList.tag("1 #cs2103");
+        taskList.deleteTask("2");
+        taskList.addToDo("new task");
+
+        assertEquals(4, before.size());
+        assertFalse(first.isDone());
+        assertEquals(0, first.getTags().size());
+        assertEquals("Reading week plans", before.get(1).getName());
+
+        List<Task> after = taskList.getTasks();
+        assertTrue(after.get(0).isDone());
+        assertEquals(List.of("cs2103"), after.get(0).getTags());
+        assertEquals("new task", after.get(3).getName());
+        assertEquals(after.get(0), taskList.find("#cs2103").get(0));
+    }
+
+    @Test
+    public void addAndMark_severalThreads_noChangeLost() throws Exception {
+        Thread[] writers = new Thread[4];
+        for (int i = 0; i < writers.length; i++) {
+            int writer = i;
+            writers[i] = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 500; j++) {
+                        taskList.addToDo("writer " + writer + " task " + j);
+                        taskList.mark("1");
+                        taskList.getTasks().forEach(Task::toString);
+                    }
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(2004, taskList.getSize());
+        assertEquals(500, taskList.find("writer 3 task").size());
+        assertEquals(4004, taskList.takeChanges().size());
+    }
+
+    @Test
+    public void find_whileListChanges_sameMatches() throws Exception {
+        taskList.tag("3 #cs2103");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    taskList.addToDo("filler " + i + " #filler");
+                    taskList.tag("3 #busy");
+                    taskList.removeTags("3 #busy");
+                    if (i % 3 == 2) {
+                        taskList.deleteTask("5-6");
+                    }
+                }
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        Thread[] readers = new Thread[3];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                try {
+                    while (writer.isAlive()) {
+                        assertEquals(2, taskList.find("CS2103T").size());
+                        assertEquals(1, taskList.find("#cs2103").size());
+                        assertEquals(1, taskList.findOn("2024-09-01").size());
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+        }
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+    }
+}
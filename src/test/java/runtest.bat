@@ -3,19 +3,21 @@
 REM create bin directory if it doesn't exist
 if not exist ..\bin mkdir ..\bin
 
-REM delete output from previous run
+REM delete output and saved tasks from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
+if exist data rmdir /s /q data
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM compile the code into the bin folder without the GUI
+javac -Xlint:none -d ..\bin ..\..\main\java\cli\*.java ..\..\main\java\processes\*.java ^
+    ..\..\main\java\tasks\*.java ..\..\main\java\exceptions\*.java
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
 )
 REM no error here, errorlevel == 0
 
-REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin main.java.processes.MrTracker < input.txt > ACTUAL.TXT
+REM run the program in batch mode, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+java -classpath ..\bin cli.BatchRunner input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 
@@ -6,21 +6,25 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and saved tasks from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
     rm ACTUAL.TXT
 fi
+if [ -d "./data" ]
+then
+    rm -r ./data
+fi
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# compile the code into the bin folder without the GUI, terminates if error occurred
+if ! javac -Xlint:none -d ../bin $(find ../../main/java -name '*.java' -not -path '*/controllers/*')
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
-# run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Duke < input.txt > ACTUAL.TXT
+# run the program in batch mode, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+java -classpath ../bin cli.BatchRunner input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT
@@ -35,4 +39,4 @@ then
 else
     echo "Test result: FAILED"
     exit 1
-fi
\ No newline at end of file
+fi
@@ -145,4 +145,23 @@ public class ToDoTest {
         ToDo test = new ToDo(new String[]{"0", "validName"});
         assertEquals(test.toSave(), "T|0|validName");
     }
+
+    @Test
+    public void stringConversions_afterChanges_reflectChanges() throws Exception {
+        ToDo test = new ToDo("validName #tag");
+        assertEquals(test.toString(), "[T][ ] validName\n   Tags: #tag ");
+        assertEquals(test.toSave(), "T|0|validName|tag|");
+
+        test.mark();
+        ArrayList<String> newTags = new ArrayList<>();
+        newTags.add("other");
+        test.addTags(newTags);
+        assertEquals(test.toString(), "[T][X] validName\n   Tags: #tag #other ");
+        assertEquals(new String(test.toSaveBytes(), "UTF-8"), "T|1|validName|tag|other|");
+
+        test.removeTags(new String[0]);
+        test.unMark();
+        assertEquals(test.toString(), "[T][ ] validName");
+        assertEquals(test.toSave(), "T|0|validName");
+    }
 }